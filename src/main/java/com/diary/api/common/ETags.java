@@ -0,0 +1,23 @@
+package com.diary.api.common;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 조건부 GET 용 강한 ETag 생성
+ * 응답 본문 대신 버전 값(updatedAt, 건수 등)만으로 만들어 304 응답 시 본문을 조회하지 않습니다.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String strong(Object... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (Object part : parts) {
+            joined.append(part).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -2,6 +2,7 @@ package com.diary.api.common;
 
 import com.diary.api.common.exception.BusinessException;
 import com.diary.api.common.exception.ResourceNotFoundException;
+import com.diary.api.common.exception.ServiceUnavailableException;
 import com.diary.api.common.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,6 +25,14 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(e.getMessage()));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.warn("외부 서비스 사용 불가: {}", e.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(e.getMessage()));
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleResourceNotFoundException(ResourceNotFoundException e) {
         log.error("리소스를 찾을 수 없음", e);
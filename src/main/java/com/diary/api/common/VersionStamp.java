@@ -0,0 +1,10 @@
+package com.diary.api.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록의 변경 여부를 판단하기 위한 집계 버전 값
+ * count: 행 수, marker: 쿼리별 보조 값(상태별 건수, 최대 ID 등), lastModified: 최종 수정 시각
+ */
+public record VersionStamp(Long count, Long marker, LocalDateTime lastModified) {
+}
@@ -0,0 +1,68 @@
+package com.diary.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)에서 캐리어 스레드 고정(pinning)을 감지합니다.
+ * synchronized 블록이나 네이티브 프레임 안에서 블로킹해 가상 스레드가 캐리어를 놓지 못한 경우
+ * JFR jdk.VirtualThreadPinned 이벤트를 받아 스택 상단과 함께 로그로 남기고 개수를 기록합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    // 이보다 짧게 고정된 경우는 무시
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+    private static final int STACK_DEPTH = 8;
+
+    private final Counter pinnedCounter;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("캐리어 스레드에 고정된 채 블로킹한 가상 스레드 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(THRESHOLD).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 모드: 캐리어 고정 감지 시작 (기준 {}ms)", THRESHOLD.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String stack = frames.stream()
+                .limit(STACK_DEPTH)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n    at "));
+        log.warn("가상 스레드가 {}ms 동안 캐리어 스레드에 고정되었습니다.\n    at {}",
+                event.getDuration().toMillis(), stack);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -4,9 +4,12 @@ import com.diary.api.domain.chat.dto.ChatDto.ChatCompletionRequest;
 import com.diary.api.domain.chat.dto.ChatDto.ChatCompletionResponse;
 import com.diary.api.domain.chat.service.ChatService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RestController
 @RequestMapping("/api/chat")
 @RequiredArgsConstructor
@@ -14,31 +17,42 @@ public class ChatController {
 
     private final ChatService chatService;
 
+    // Cache-Control: no-cache 또는 no-store 이면 응답 캐시를 건너뜀
     @PostMapping("/completions")
     public ResponseEntity<ChatCompletionResponse> chatCompletion(
-            @RequestBody ChatCompletionRequest request) {
-        ChatCompletionResponse response = chatService.createChatCompletion(request);
+            @RequestBody ChatCompletionRequest request,
+            @RequestHeader(value = HttpHeaders.CACHE_CONTROL, required = false) String cacheControl) {
+        boolean useCache = cacheControl == null
+                || !(cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+        ChatCompletionResponse response = chatService.createChatCompletion(request, useCache);
         return ResponseEntity.ok(response);
     }
 
+    // 토큰 단위 SSE 스트리밍 (token 이벤트 여러 번 후 done 이벤트)
+    @PostMapping(value = "/completions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatCompletionStream(@RequestBody ChatCompletionRequest request) {
+        return chatService.streamChatCompletion(request);
+    }
+
+    @PostMapping(value = "/conversation/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter conversationStream(
+            @RequestBody ChatCompletionRequest request,
+            @RequestParam(required = false) String sessionId,
+            @RequestParam(defaultValue = "false") boolean newConversation,
+            @RequestParam Long userId) {
+        return chatService.streamConversation(userId, sessionId, newConversation, request);
+    }
+
     @PostMapping("/conversation")
     public ResponseEntity<ChatCompletionResponse> conversation(
             @RequestBody ChatCompletionRequest request,
             @RequestParam(required = false) String sessionId,
             @RequestParam(defaultValue = "false") boolean newConversation,
             @RequestParam Long userId) {
-
-        try {
-            ChatCompletionResponse response = chatService.createConversation(userId, sessionId,
-                    newConversation, request);
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            e.printStackTrace(); // 로그에 스택 트레이스 출력
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(ChatCompletionResponse.builder()
-                            .response("오류 발생: " + e.getMessage())
-                            .build());
-        }
+        // AI 서비스 혼잡(503) 등은 GlobalExceptionHandler 가 처리
+        ChatCompletionResponse response = chatService.createConversation(userId, sessionId,
+                newConversation, request);
+        return ResponseEntity.ok(response);
     }
 
     @DeleteMapping("/conversation/{sessionId}")
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.RequestBody;
 
@@ -45,7 +46,11 @@ public class CommunityController {
         @Operation(summary = "커뮤니티 조회", description = "특정 커뮤니티의 상세 정보를 조회합니다.")
         @GetMapping("/{id}")
         public ResponseEntity<ApiResponse<CommunityDTO>> getCommunity(
-                        @Parameter(description = "커뮤니티 ID") @PathVariable Long id) {
+                        @Parameter(description = "커뮤니티 ID") @PathVariable Long id,
+                        WebRequest webRequest) {
+                if (webRequest.checkNotModified(communityService.getCommunityETag(id))) {
+                        return null;
+                }
                 Community community = communityService.getCommunity(id).getData();
                 return ResponseEntity.ok(ApiResponse.success(CommunityDTO.from(community)));
         }
@@ -143,7 +148,11 @@ public class CommunityController {
         @Operation(summary = "커뮤니티 공개 일기 목록 조회", description = "커뮤니티 멤버들이 작성한 공개 일기 중 최신 10개를 조회합니다.")
         @GetMapping("/{id}/diaries")
         public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getPublicCommunityDiaries(
-                        @Parameter(description = "커뮤니티 ID") @PathVariable Long id) {
+                        @Parameter(description = "커뮤니티 ID") @PathVariable Long id,
+                        WebRequest webRequest) {
+                if (webRequest.checkNotModified(communityService.getPublicCommunityDiariesETag(id))) {
+                        return null;
+                }
                 return ResponseEntity.ok(communityService.getPublicCommunityDiaries(id));
         }
 }
\ No newline at end of file
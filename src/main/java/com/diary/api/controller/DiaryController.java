@@ -1,21 +1,40 @@
 package com.diary.api.controller;
 
 import com.diary.api.common.ApiResponse;
+import com.diary.api.common.CursorPage;
+import com.diary.api.common.ETags;
+import com.diary.api.domain.diary.dto.DiaryCalendarDto;
 import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryImportResult;
+import com.diary.api.domain.diary.dto.EmotionStatsDto;
 import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.service.DiarySearchService;
 import com.diary.api.domain.diary.service.DiaryService;
+import com.diary.api.domain.diary.service.DiarySimilarityService;
+import com.diary.api.domain.diary.service.DiaryTagService;
+import com.diary.api.domain.diary.service.DiaryTransferService;
+import com.diary.api.domain.diary.service.EmotionStatsService;
 import com.diary.api.domain.user.config.UserPrincipal;
 import com.diary.api.domain.user.entity.User;
 import com.diary.api.domain.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +46,10 @@ import io.swagger.v3.oas.annotations.*;
 @Tag(name = "Diary", description = "일기 관련 API")
 public class DiaryController {
         private final DiaryService diaryService;
+        private final DiarySimilarityService diarySimilarityService;
+        private final DiarySearchService diarySearchService;
+        private final EmotionStatsService emotionStatsService;
+        private final DiaryTransferService diaryTransferService;
         private final UserRepository userRepository;
 
         @Operation(summary = "일기 생성", description = "새로운 일기를 생성합니다.")
@@ -40,30 +63,94 @@ public class DiaryController {
                 return ResponseEntity.ok(diaryService.createDiary(diary, user));
         }
 
+        @Operation(summary = "일기 검색", description = "내 일기와 공개 일기의 본문/요약에서 검색어를 찾아 관련도순 커서 페이지로 조회합니다.")
+        @GetMapping("/search")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<CursorPage<DiaryDto>>> searchDiaries(
+                @Parameter(description = "검색어 (두 글자 이상)") @RequestParam String q,
+                @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+                @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size,
+                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                return ResponseEntity.ok(ApiResponse.success(diarySearchService.search(q, user, cursor, size)));
+        }
+
         @Operation(summary = "일기 조회", description = "ID로 일기를 조회합니다.")
         @GetMapping("/{id}")
         @PreAuthorize("isAuthenticated()")
         public ResponseEntity<ApiResponse<DiaryDto>> getDiary(
                 @Parameter(description = "일기 ID") @PathVariable Long id,
+                @AuthenticationPrincipal UserPrincipal userPrincipal,
+                WebRequest webRequest) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                ApiResponse<DiaryDto> response = diaryService.getDiary(id, user);
+                DiaryDto diary = response.getData();
+                // 상세는 캐시된 사본으로 응답하므로 사본의 버전 값으로 비교
+                if (webRequest.checkNotModified(ETags.strong("diary", diary.getId(), diary.getUpdatedAt(),
+                        diary.getAnalysisStatus(), diary.getIsPublic()))) {
+                        return null;
+                }
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "비슷한 감정의 일기 조회", description = "감정 벡터가 가장 비슷한 공개 일기를 유사도 순으로 조회합니다.")
+        @GetMapping("/{id}/similar")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<List<DiaryDto>>> getSimilarDiaries(
+                @Parameter(description = "기준 일기 ID") @PathVariable Long id,
+                @Parameter(description = "조회 개수 (최대 50)") @RequestParam(defaultValue = "10") int limit,
                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
                 User user = userRepository.findByEmail(userPrincipal.getUsername())
                         .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-                Diary diary = diaryService.getDiary(id, user).getData();
-                return ResponseEntity.ok(ApiResponse.success(DiaryDto.from(diary)));
+                return ResponseEntity.ok(ApiResponse.success(diarySimilarityService.findSimilar(id, user, limit)));
         }
 
-        @Operation(summary = "사용자 일기 목록 조회", description = "현재 로그인한 사용자의 모든 일기를 조회합니다.")
+        @Operation(summary = "사용자 일기 목록 조회", description = "현재 로그인한 사용자의 일기를 최신순 커서 페이지로 조회합니다. all=true 이면 전체 목록을 한 번에 반환합니다.")
         @GetMapping("/my")
         @PreAuthorize("isAuthenticated()")
-        public ResponseEntity<ApiResponse<List<DiaryDto>>> getMyDiaries(
+        public ResponseEntity<ApiResponse<?>> getMyDiaries(
+                @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+                @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size,
+                @Parameter(description = "전체 목록 조회 여부") @RequestParam(defaultValue = "false") boolean all,
+                @AuthenticationPrincipal UserPrincipal userPrincipal,
+                WebRequest webRequest) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                if (webRequest.checkNotModified(diaryService.getUserDiariesETag(user))) {
+                        return null;
+                }
+                if (!all) {
+                        return ResponseEntity.ok(diaryService.getUserDiaryPage(user, cursor, size));
+                }
+                return ResponseEntity.ok(diaryService.getUserDiaries(user));
+        }
+
+        @Operation(summary = "일기 내보내기", description = "내 일기 전체를 NDJSON(한 줄에 일기 하나)으로 스트리밍합니다.")
+        @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<StreamingResponseBody> exportDiaries(
+                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                StreamingResponseBody body = out -> diaryTransferService.export(user, out);
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"diaries.ndjson\"")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(body);
+        }
+
+        @Operation(summary = "일기 가져오기", description = "NDJSON 본문의 일기를 내 일기로 저장합니다. 분석 결과가 없는 일기는 분석 대기 상태로 저장됩니다.")
+        @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE,
+                        MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE })
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<DiaryImportResult>> importDiaries(
+                InputStream body,
                 @AuthenticationPrincipal UserPrincipal userPrincipal) {
                 User user = userRepository.findByEmail(userPrincipal.getUsername())
                         .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
-                List<Diary> diaries = diaryService.getUserDiaries(user).getData();
-                List<DiaryDto> dtoList = diaries.stream()
-                        .map(DiaryDto::from)
-                        .collect(Collectors.toList());
-                return ResponseEntity.ok(ApiResponse.success(dtoList));
+                return ResponseEntity.ok(ApiResponse.success(diaryTransferService.importDiaries(user, body)));
         }
 
         @Operation(summary = "일기 수정", description = "기존 일기를 수정합니다.")
@@ -78,6 +165,18 @@ public class DiaryController {
                 return ResponseEntity.ok(diaryService.updateDiary(id, updatedDiary, user));
         }
 
+        @Operation(summary = "일기 부분 수정", description = "JSON Merge Patch 로 일기의 일부 필드(content, isPublic, imageUrl, primaryEmotion, tags)만 수정합니다. null 은 값을 지웁니다. (content, isPublic 은 null 불가, tags 배열 요소는 문자열만 허용)")
+        @PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<DiaryDto>> patchDiary(
+                        @Parameter(description = "일기 ID") @PathVariable Long id,
+                        @RequestBody JsonNode patch,
+                        @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                return ResponseEntity.ok(diaryService.patchDiary(id, patch, user));
+        }
+
         @Operation(summary = "일기 삭제", description = "일기를 삭제합니다.")
         @DeleteMapping("/{id}")
         @PreAuthorize("isAuthenticated()")
@@ -89,18 +188,61 @@ public class DiaryController {
                 return ResponseEntity.ok(diaryService.deleteDiary(id, user));
         }
 
-        @Operation(summary = "감정별 일기 조회", description = "특정 감정의 일기를 조회합니다.")
+        @Operation(summary = "감정별 일기 조회", description = "특정 감정의 공개 일기를 최신순 커서 페이지로 조회합니다.")
         @GetMapping("/emotion/{emotion}")
-        public ResponseEntity<ApiResponse<List<Diary>>> getDiariesByEmotion(
-                        @Parameter(description = "감정") @PathVariable String emotion) {
-                return ResponseEntity.ok(diaryService.getDiariesByEmotion(emotion));
+        public ResponseEntity<ApiResponse<CursorPage<DiaryDto>>> getDiariesByEmotion(
+                        @Parameter(description = "감정") @PathVariable String emotion,
+                        @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+                return ResponseEntity.ok(diaryService.getDiariesByEmotion(emotion, cursor, size));
         }
 
-        @Operation(summary = "태그별 일기 조회", description = "특정 태그의 일기를 조회합니다.")
+        @Operation(summary = "태그별 일기 조회", description = "태그로 공개 일기를 최신순 커서 페이지로 조회합니다. match=any 는 하나라도, match=all 은 모든 태그를 포함한 일기입니다.")
         @GetMapping("/tags")
-        public ResponseEntity<ApiResponse<List<Diary>>> getDiariesByTags(
-                        @RequestParam List<String> tags) {
-                return ResponseEntity.ok(diaryService.getDiariesByTags(tags));
+        public ResponseEntity<ApiResponse<CursorPage<DiaryDto>>> getDiariesByTags(
+                        @RequestParam List<String> tags,
+                        @Parameter(description = "any 또는 all") @RequestParam(defaultValue = "any") String match,
+                        @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+                return ResponseEntity.ok(diaryService.getDiariesByTags(tags, DiaryTagService.Match.from(match),
+                                cursor, size));
+        }
+
+        @Operation(summary = "캘린더 히트맵", description = "기간 내 일기가 있는 날짜별 일기 수, 대표 감정 코드, 평균 감정 강도를 병렬 배열로 조회합니다. 최대 366일, 기본값은 이번 달입니다.")
+        @GetMapping("/calendar")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<DiaryCalendarDto>> getCalendar(
+                @Parameter(description = "시작일 (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                @Parameter(description = "종료일 (yyyy-MM-dd, 포함)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                YearMonth thisMonth = YearMonth.now();
+                return ResponseEntity.ok(diaryService.getCalendar(user,
+                        from != null ? from : thisMonth.atDay(1),
+                        to != null ? to : thisMonth.atEndOfMonth()));
+        }
+
+        @Operation(summary = "주간 감정 통계", description = "date 가 속한 주(월~일)의 일별/주간 감정 통계를 조회합니다. 기본값은 이번 주입니다.")
+        @GetMapping("/stats/weekly")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<EmotionStatsDto>> getWeeklyStats(
+                @Parameter(description = "기준 날짜 (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                return ResponseEntity.ok(ApiResponse.success(emotionStatsService.getWeekly(user, date)));
+        }
+
+        @Operation(summary = "월간 감정 통계", description = "해당 월의 일별/월간 감정 통계를 조회합니다. 기본값은 이번 달입니다.")
+        @GetMapping("/stats/monthly")
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<EmotionStatsDto>> getMonthlyStats(
+                @Parameter(description = "조회 월 (yyyy-MM)") @RequestParam(required = false) YearMonth month,
+                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+                User user = userRepository.findByEmail(userPrincipal.getUsername())
+                        .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+                return ResponseEntity.ok(ApiResponse.success(emotionStatsService.getMonthly(user, month)));
         }
 
         // @Operation(summary = "기간별 일기 조회", description = "특정 기간의 일기를 조회합니다.")
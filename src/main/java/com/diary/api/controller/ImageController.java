@@ -0,0 +1,48 @@
+package com.diary.api.controller;
+
+import com.diary.api.common.ApiResponse;
+import com.diary.api.domain.image.dto.ImageUploadResult;
+import com.diary.api.domain.image.service.ImageFileSender;
+import com.diary.api.domain.image.service.ImageStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Tag(name = "Image", description = "일기 이미지 API")
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+        private final ImageStorageService imageStorageService;
+        private final ImageFileSender imageFileSender;
+
+        @Operation(summary = "이미지 업로드", description = "이미지를 저장하고 URL 을 반환합니다. 반환된 url 을 일기의 imageUrl 로 사용합니다.")
+        @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        @PreAuthorize("isAuthenticated()")
+        public ResponseEntity<ApiResponse<ImageUploadResult>> upload(@RequestParam("file") MultipartFile file) {
+                return ResponseEntity.ok(ApiResponse.success(imageStorageService.store(file)));
+        }
+
+        @Operation(summary = "이미지 조회", description = "원본 또는 썸네일(w=가로크기)을 응답합니다. Range 요청을 지원합니다.")
+        @GetMapping("/{hash:[0-9a-f]{64}}.{extension:jpg|png|gif|webp}")
+        @PreAuthorize("isAuthenticated()")
+        public void getImage(
+                        @PathVariable String hash,
+                        @PathVariable String extension,
+                        @Parameter(description = "썸네일 가로 크기") @RequestParam(value = "w", required = false) Integer width,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+                imageFileSender.send(imageStorageService.open(hash, extension, width), request, response);
+        }
+}
@@ -0,0 +1,21 @@
+package com.diary.api.domain.chat.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.cache")
+@Configuration
+public class ChatCacheProperties {
+    // 단일 메시지 응답 캐시 사용 여부
+    private boolean enabled = true;
+    // 최대 보관 응답 수
+    private long maximumSize = 10_000;
+    // 응답 보관 시간
+    private long expireAfterWriteMinutes = 60;
+    // 이 값보다 temperature 가 높으면 응답이 매번 달라야 하므로 캐시하지 않음
+    private double maxTemperature = 0.3;
+}
@@ -0,0 +1,21 @@
+package com.diary.api.domain.chat.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.context")
+@Configuration
+public class ChatContextProperties {
+    // 프롬프트(요약 + 최근 대화)에 쓸 최대 토큰 수
+    private int maxPromptTokens = 3000;
+    // DB 에서 읽을 최근 메시지 수 (응답의 대화 기록에도 사용)
+    private int tailMessages = 40;
+    // 요약에 한 번에 접어 넣을 최대 메시지 수
+    private int summarizeBatchSize = 100;
+    // 요약 응답 최대 토큰 수
+    private int summaryMaxTokens = 400;
+}
@@ -0,0 +1,25 @@
+package com.diary.api.domain.chat.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "chat.retention")
+@Configuration
+public class ChatRetentionProperties {
+    // 오래된 세션 정리 사용 여부
+    private boolean enabled = true;
+    // 정리 시각 (@Scheduled 에서 chat.retention.cron 으로 직접 참조)
+    private String cron = "0 0 1 * * ?";
+    // 마지막 대화 후 이 기간이 지난 세션을 삭제
+    private int retentionDays = 30;
+    // 한 트랜잭션에서 삭제할 최대 세션 수
+    private int batchSize = 200;
+    // 한 번 실행할 때 처리할 최대 배치 수
+    private int maxBatchesPerRun = 500;
+    // 배치 사이 대기 시간 (DB 부하 조절)
+    private long pauseBetweenBatchesMs = 100;
+}
@@ -13,7 +13,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chat_sessions")
+@Table(name = "chat_sessions", indexes = {
+        @Index(name = "idx_chat_sessions_updated_at", columnList = "updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +27,14 @@ public class ChatSession {
     @Column(name = "user_id")
     private Long userId;
 
+    // 프롬프트에서 빠진 이전 대화의 누적 요약
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    // summary 에 반영된 마지막 메시지 ID
+    @Column(name = "summarized_until_id")
+    private Long summarizedUntilId;
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt ASC")
     private List<ChatMessage> messages = new ArrayList<>();
@@ -1,10 +1,29 @@
 package com.diary.api.domain.chat.repository;
 
 import com.diary.api.domain.chat.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findBySessionIdOrderByCreatedAt(String sessionId);
+
+    // afterId 이후 메시지 중 최근 것부터 (요약되지 않은 대화 끝부분)
+    @Query("SELECT m FROM ChatMessage m WHERE m.session.id = :sessionId AND m.id > :afterId ORDER BY m.id DESC")
+    List<ChatMessage> findTail(@Param("sessionId") String sessionId, @Param("afterId") Long afterId, Pageable pageable);
+
+    // (afterId, beforeId) 구간 메시지를 오래된 것부터
+    @Query("SELECT m FROM ChatMessage m WHERE m.session.id = :sessionId AND m.id > :afterId AND m.id < :beforeId " +
+            "ORDER BY m.id ASC")
+    List<ChatMessage> findRange(@Param("sessionId") String sessionId, @Param("afterId") Long afterId,
+                                @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "DELETE FROM chat_messages WHERE session_id IN (:sessionIds)", nativeQuery = true)
+    int deleteBySessionIdIn(@Param("sessionIds") Collection<String> sessionIds);
 }
\ No newline at end of file
@@ -2,13 +2,26 @@ package com.diary.api.domain.chat.repository;
 
 import com.diary.api.domain.chat.entity.ChatSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ChatSessionRepository extends JpaRepository<ChatSession, String> {
     Optional<ChatSession> findByIdAndUserId(String id, Long userId);
     List<ChatSession> findByUserId(Long userId);
-    List<ChatSession> findByUpdatedAtBefore(LocalDateTime time);
-}
\ No newline at end of file
+    long countByUpdatedAtBefore(LocalDateTime time);
+
+    // 보관 기간이 지난 세션을 잠그고 id 만 가져옴 (다른 인스턴스가 잡은 세션은 건너뜀)
+    @Query(value = "SELECT id FROM chat_sessions WHERE updated_at < :before ORDER BY updated_at, id " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> lockStaleForCleanup(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM chat_sessions WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+}
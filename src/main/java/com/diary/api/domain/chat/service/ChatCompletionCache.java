@@ -0,0 +1,131 @@
+package com.diary.api.domain.chat.service;
+
+import com.diary.api.common.exception.ServiceUnavailableException;
+import com.diary.api.domain.chat.config.ChatCacheProperties;
+import com.diary.api.domain.llm.service.LlmClient;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 단일 메시지 응답(/api/chat/completions) 캐시
+ * 정규화한 메시지와 모델/temperature/maxTokens 가 같으면 같은 응답을 돌려주고,
+ * 같은 요청이 동시에 들어오면 먼저 온 요청의 OpenAI 호출 결과를 함께 기다립니다.
+ * 동시 요청 합치기와 실패한 항목 제거는 Caffeine 의 AsyncCache.get 에 맡기고,
+ * 수 초씩 걸리는 OpenAI 호출이 캐시 내부 잠금을 잡지 않도록 비동기 캐시에 미완료 future 를 넣습니다.
+ * temperature 가 높아 응답이 매번 달라야 하는 설정에서는 사용하지 않습니다.
+ */
+@Component
+public class ChatCompletionCache {
+    private static final String TIMEOUT_MESSAGE = "AI 응답 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.";
+
+    private final ChatCacheProperties properties;
+    // 같은 요청을 먼저 보낸 쪽의 응답을 기다리는 최대 시간
+    private final Duration waitTimeout;
+    private final AsyncCache<Key, String> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    private record Key(String model, Double temperature, Integer maxTokens, String message) {
+    }
+
+    public ChatCompletionCache(ChatCacheProperties properties, LlmClient llmClient, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.waitTimeout = llmClient.maxCallDuration();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMinutes(properties.getExpireAfterWriteMinutes()))
+                .buildAsync();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.bypasses = counter(meterRegistry, "bypass");
+        Gauge.builder("chat.completion.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .description("캐시된 채팅 응답 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 응답을 돌려주거나, 없으면 호출한 스레드에서 loader 로 받아 캐시합니다.
+     * 실패한 호출은 캐시하지 않고 함께 기다리던 요청에도 같은 예외를 던집니다.
+     * 기다리는 요청은 LLM 호출 최대 시간까지만 기다리고, 넘으면 ServiceUnavailableException 을 던집니다.
+     */
+    public String get(ChatCompletionRequest request, String message, Supplier<String> loader) {
+        if (!cacheable(request)) {
+            bypasses.increment();
+            return loader.get();
+        }
+
+        Key key = new Key(request.getModel(), request.getTemperature(), request.getMaxTokens(), normalize(message));
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> future = cache.get(key, (k, executor) -> created);
+        if (future != created) {
+            hits.increment();
+            return await(future);
+        }
+
+        misses.increment();
+        try {
+            String response = loader.get();
+            created.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Error 를 포함한 모든 실패에서 기다리던 요청을 깨움, 실패한 future 는 Caffeine 이 캐시에서 제거
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private boolean cacheable(ChatCompletionRequest request) {
+        return properties.isEnabled()
+                && request.getTemperature() != null
+                && request.getTemperature() <= properties.getMaxTemperature();
+    }
+
+    // 유니코드 정규화 후 앞뒤 공백 제거, 연속 공백을 하나로
+    private static String normalize(String message) {
+        if (message == null) {
+            return "";
+        }
+        return Normalizer.normalize(message, Normalizer.Form.NFC).strip().replaceAll("\\s+", " ");
+    }
+
+    private String await(CompletableFuture<String> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException(TIMEOUT_MESSAGE, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 응답 대기 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("chat.completion.cache")
+                .description("단일 메시지 응답 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
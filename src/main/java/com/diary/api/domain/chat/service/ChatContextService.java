@@ -0,0 +1,208 @@
+package com.diary.api.domain.chat.service;
+
+import com.diary.api.domain.chat.config.ChatContextProperties;
+import com.diary.api.domain.chat.dto.ChatDto;
+import com.diary.api.domain.chat.entity.ChatMessage;
+import com.diary.api.domain.chat.entity.ChatSession;
+import com.diary.api.domain.chat.repository.ChatMessageRepository;
+import com.diary.api.domain.chat.repository.ChatSessionRepository;
+import com.diary.api.domain.llm.service.LlmClient;
+import com.diary.api.domain.llm.service.TokenCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 대화 프롬프트를 토큰 예산 안에서 구성합니다.
+ * 요약되지 않은 최근 메시지만 DB 에서 읽어 최신 것부터 예산이 허락하는 만큼 담고,
+ * 앞부분은 세션에 저장된 누적 요약 하나로 대신합니다.
+ * 예산에서 밀려난 메시지는 별도 스레드에서 요약에 접어 넣습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatContextService {
+    private static final String SUMMARY_FEATURE = "chat_summary";
+
+    private static final String SUMMARY_PREFIX = "지금까지의 대화 요약: ";
+
+    private static final String SUMMARIZE_PROMPT = "너는 상담 대화를 요약하는 도우미야. "
+            + "기존 요약과 이어지는 대화를 합쳐 사용자의 상황, 감정, 중요한 사실, 나눈 약속을 빠짐없이 "
+            + "한국어로 간결하게 요약해. 요약문만 답해.";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatSessionRepository chatSessionRepository;
+    private final ChatContextProperties properties;
+    private final TokenCounter tokenCounter;
+    private final LlmClient llmClient;
+    private final TransactionTemplate transactionTemplate;
+
+    // 요약이 진행 중인 세션 (같은 세션을 동시에 요약하지 않음)
+    private final Set<String> summarizing = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+
+    /**
+     * 프롬프트로 보낼 메시지와 응답에 돌려줄 최근 대화 기록
+     */
+    public record Context(List<ChatDto.Message> prompt, List<ChatDto.Message> recent) {
+    }
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 세션의 프롬프트를 구성합니다. 방금 저장한 사용자 메시지까지 포함되어 있어야 하며, 트랜잭션 안에서 호출합니다.
+     */
+    public Context build(ChatSession session) {
+        long summarizedUntil = session.getSummarizedUntilId() == null ? 0L : session.getSummarizedUntilId();
+        List<ChatMessage> tail = new ArrayList<>(chatMessageRepository.findTail(session.getId(), summarizedUntil,
+                PageRequest.of(0, properties.getTailMessages())));
+        Collections.reverse(tail);
+
+        ChatDto.Message summary = session.getSummary() == null || session.getSummary().isBlank() ? null
+                : new ChatDto.Message("system", SUMMARY_PREFIX + session.getSummary());
+        int budget = properties.getMaxPromptTokens() - tokenCounter.replyOverhead()
+                - (summary == null ? 0 : tokenCounter.countMessage(summary.getRole(), summary.getContent()));
+
+        // 최신 메시지부터 예산 안에서 담음 (가장 최근 메시지는 항상 포함)
+        int first = tail.size();
+        int used = 0;
+        while (first > 0) {
+            ChatMessage message = tail.get(first - 1);
+            int tokens = tokenCounter.countMessage(message.getRole(), message.getContent());
+            if (first < tail.size() && used + tokens > budget) {
+                break;
+            }
+            used += tokens;
+            first--;
+        }
+
+        List<ChatDto.Message> prompt = new ArrayList<>(tail.size() - first + 1);
+        if (summary != null) {
+            prompt.add(summary);
+        }
+        tail.subList(first, tail.size()).forEach(message -> prompt.add(toDto(message)));
+
+        // 예산에서 밀려났거나 읽은 범위보다 오래된 미요약 메시지가 있으면 요약에 접어 넣음
+        boolean truncated = first > 0 || tail.size() >= properties.getTailMessages();
+        if (truncated && first < tail.size()) {
+            scheduleSummary(session.getId(), tail.get(first).getId());
+        }
+
+        return new Context(prompt, tail.stream().map(ChatContextService::toDto).collect(Collectors.toList()));
+    }
+
+    private void scheduleSummary(String sessionId, long beforeId) {
+        if (!summarizing.add(sessionId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    summarize(sessionId, beforeId);
+                } catch (Exception e) {
+                    log.warn("대화 요약 갱신 실패: 세션 {}", sessionId, e);
+                } finally {
+                    summarizing.remove(sessionId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            summarizing.remove(sessionId);
+        }
+    }
+
+    // beforeId 이전의 미요약 메시지를 배치 단위로 기존 요약에 합칩니다. 외부 호출 동안에는 트랜잭션을 잡지 않습니다.
+    private void summarize(String sessionId, long beforeId) {
+        while (true) {
+            SummaryInput input = transactionTemplate.execute(status -> chatSessionRepository.findById(sessionId)
+                    .map(session -> {
+                        Long after = session.getSummarizedUntilId() == null ? 0L : session.getSummarizedUntilId();
+                        List<ChatMessage> messages = chatMessageRepository.findRange(sessionId, after, beforeId,
+                                PageRequest.of(0, properties.getSummarizeBatchSize()));
+                        return new SummaryInput(session.getSummary(), session.getSummarizedUntilId(),
+                                messages.stream().map(ChatContextService::toDto).collect(Collectors.toList()),
+                                messages.isEmpty() ? null : messages.get(messages.size() - 1).getId());
+                    })
+                    .orElse(null));
+            if (input == null || input.messages().isEmpty()) {
+                return;
+            }
+
+            String updated = requestSummary(input);
+            Boolean saved = transactionTemplate.execute(status -> chatSessionRepository.findById(sessionId)
+                    .filter(session -> Objects.equals(session.getSummarizedUntilId(), input.summarizedUntilId()))
+                    .map(session -> {
+                        session.setSummary(updated);
+                        session.setSummarizedUntilId(input.lastId());
+                        return true;
+                    })
+                    .orElse(false));
+            if (!Boolean.TRUE.equals(saved)) {
+                return;
+            }
+        }
+    }
+
+    private String requestSummary(SummaryInput input) {
+        StringBuilder conversation = new StringBuilder();
+        if (input.summary() != null && !input.summary().isBlank()) {
+            conversation.append("[기존 요약]\n").append(input.summary()).append("\n\n");
+        }
+        conversation.append("[이어지는 대화]\n");
+        for (ChatDto.Message message : input.messages()) {
+            conversation.append("user".equals(message.getRole()) ? "사용자: " : "상담사: ")
+                    .append(message.getContent())
+                    .append('\n');
+        }
+
+        return llmClient.complete(SUMMARY_FEATURE, llmClient.requestBuilder()
+                        .messages(List.of(
+                                new com.theokanning.openai.completion.chat.ChatMessage("system", SUMMARIZE_PROMPT),
+                                new com.theokanning.openai.completion.chat.ChatMessage("user", conversation.toString())))
+                        .maxTokens(properties.getSummaryMaxTokens())
+                        .build())
+                .getChoices().get(0).getMessage().getContent().trim();
+    }
+
+    private record SummaryInput(String summary, Long summarizedUntilId, List<ChatDto.Message> messages, Long lastId) {
+    }
+
+    private static ChatDto.Message toDto(ChatMessage message) {
+        return new ChatDto.Message(message.getRole(), message.getContent());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
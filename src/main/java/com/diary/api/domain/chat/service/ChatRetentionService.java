@@ -0,0 +1,107 @@
+package com.diary.api.domain.chat.service;
+
+import com.diary.api.domain.chat.config.ChatRetentionProperties;
+import com.diary.api.domain.chat.repository.ChatMessageRepository;
+import com.diary.api.domain.chat.repository.ChatSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오래된 채팅 세션을 배치 단위로 삭제합니다.
+ * 배치마다 대상 세션을 SKIP LOCKED 로 잠근 뒤 메시지, 세션 순으로 집합 DELETE 를 실행하고 바로 커밋하므로
+ * 엔티티를 읽어 들이지 않고 잠금도 짧게 유지됩니다. 배치 사이에는 설정한 만큼 쉬어 DB 부하를 조절합니다.
+ */
+@Slf4j
+@Service
+public class ChatRetentionService {
+    private final ChatSessionRepository chatSessionRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ChatRetentionProperties properties;
+    private final Counter sessionsCounter;
+    private final Counter messagesCounter;
+    private final AtomicLong pending = new AtomicLong();
+
+    private record BatchResult(int sessions, int messages) {
+    }
+
+    public ChatRetentionService(ChatSessionRepository chatSessionRepository,
+            ChatMessageRepository chatMessageRepository, TransactionTemplate transactionTemplate,
+            ChatRetentionProperties properties, MeterRegistry meterRegistry) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.sessionsCounter = Counter.builder("chat.retention.sessions_deleted")
+                .description("보관 기간이 지나 삭제된 채팅 세션 수")
+                .register(meterRegistry);
+        this.messagesCounter = Counter.builder("chat.retention.messages_deleted")
+                .description("보관 기간이 지나 삭제된 채팅 메시지 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.retention.pending", pending, AtomicLong::get)
+                .description("보관 기간이 지나 삭제를 기다리는 채팅 세션 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${chat.retention.cron:0 0 1 * * ?}")
+    public void cleanupOldSessions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime before = LocalDateTime.now().minusDays(properties.getRetentionDays());
+        long sessions = 0L;
+        long messages = 0L;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            BatchResult result = transactionTemplate.execute(status -> deleteBatch(before));
+            if (result == null || result.sessions() == 0) {
+                break;
+            }
+            sessions += result.sessions();
+            messages += result.messages();
+            sessionsCounter.increment(result.sessions());
+            messagesCounter.increment(result.messages());
+
+            if (!pause()) {
+                break;
+            }
+        }
+
+        pending.set(chatSessionRepository.countByUpdatedAtBefore(before));
+        if (sessions > 0) {
+            log.info("오래된 채팅 세션 정리 완료: 세션 {}건, 메시지 {}건", sessions, messages);
+        }
+    }
+
+    private BatchResult deleteBatch(LocalDateTime before) {
+        List<String> ids = chatSessionRepository.lockStaleForCleanup(before, properties.getBatchSize());
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        int messages = chatMessageRepository.deleteBySessionIdIn(ids);
+        int sessions = chatSessionRepository.deleteByIdIn(ids);
+        return new BatchResult(sessions, messages);
+    }
+
+    private boolean pause() {
+        if (properties.getPauseBetweenBatchesMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseBetweenBatchesMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,43 +1,63 @@
 package com.diary.api.domain.chat.service;
 
+import com.diary.api.common.exception.ResourceNotFoundException;
 import com.diary.api.domain.chat.dto.ChatDto;
 import com.diary.api.domain.chat.entity.ChatMessage;
 import com.diary.api.domain.chat.entity.ChatSession;
 import com.diary.api.domain.chat.repository.ChatMessageRepository;
 import com.diary.api.domain.chat.repository.ChatSessionRepository;
-import com.diary.api.domain.user.config.OpenAIConfig;
+import com.diary.api.domain.llm.service.LlmClient;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
-import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.disposables.Disposable;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.scheduling.annotation.Scheduled;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChatService {
 
-    private final OpenAIConfig openAIConfig;
+    private final LlmClient llmClient;
     private final ChatSessionRepository chatSessionRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private static final int MAX_HISTORY_SIZE = 20;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ChatContextService chatContextService;
+    private final ChatCompletionCache chatCompletionCache;
+    // SSE 연결 최대 유지 시간
+    private static final long STREAM_TIMEOUT_MS = 120_000L;
+    private static final String FEATURE = "chat";
 
-    @Transactional
-    public ChatDto.ChatCompletionResponse createChatCompletion(ChatDto.ChatCompletionRequest request) {
+    /**
+     * 단일 메시지 응답을 생성합니다. useCache 가 true 이면 같은 메시지의 응답을 캐시에서 돌려줍니다.
+     */
+    public ChatDto.ChatCompletionResponse createChatCompletion(ChatDto.ChatCompletionRequest request,
+                                                               boolean useCache) {
         // 단일 메시지를 위한 리스트 생성
-        List<ChatMessage> messages = new ArrayList<>();
-        ChatMessage userMessage = new ChatMessage("user", request.getMessage());
-        messages.add(userMessage);
+        List<ChatDto.Message> messages = List.of(new ChatDto.Message("user", request.getMessage()));
+        ChatCompletionRequest completionRequest = buildRequest(messages);
 
         // AI 응답 생성
-        String aiResponse = generateAIResponse(messages);
+        String aiResponse = useCache
+                ? chatCompletionCache.get(completionRequest, request.getMessage(), () -> complete(completionRequest))
+                : complete(completionRequest);
 
         // 대화 기록에 사용자 메시지와 AI 응답만 포함
         List<ChatDto.Message> conversationHistory = new ArrayList<>();
@@ -51,49 +71,22 @@ public class ChatService {
                 .build();
     }
 
-    @Transactional
+    /**
+     * 대화 응답을 생성합니다.
+     * 사용자 메시지 저장, OpenAI 호출, 응답 메시지 저장을 나누어 외부 API 를 기다리는 동안에는
+     * 트랜잭션과 DB 커넥션을 잡지 않습니다.
+     */
     public ChatDto.ChatCompletionResponse createConversation(Long userId, String sessionId,
                                                              boolean newConversation,
                                                              ChatDto.ChatCompletionRequest request) {
-        ChatSession session;
-
-        // 새 대화 시작이거나 세션 ID가 없는 경우
-        if (newConversation || sessionId == null || sessionId.isEmpty()) {
-            session = new ChatSession(userId);
-            chatSessionRepository.save(session); // 여기서 먼저 세션 저장
-        } else {
-            session = chatSessionRepository.findByIdAndUserId(sessionId, userId)
-                    .orElseThrow(() -> new EntityNotFoundException("세션을 찾을 수 없습니다"));
-        }
-
-        // 사용자 메시지 생성 및 저장
-        ChatMessage userMessage = new ChatMessage("user", request.getMessage());
-        userMessage.setSession(session);
-        chatMessageRepository.save(userMessage); // 명시적으로 메시지 저장
-        session.getMessages().add(userMessage);  // messages 컬렉션에 추가
-
-        // AI 응답 생성
-        String aiResponse = generateAIResponse(session.getMessages());
+        // 1. 세션과 사용자 메시지 저장 후 프롬프트 구성
+        PreparedConversation prepared = prepare(userId, sessionId, newConversation, request);
 
-        // AI 응답 메시지 생성 및 저장
-        ChatMessage assistantMessage = new ChatMessage("assistant", aiResponse);
-        assistantMessage.setSession(session);
-        chatMessageRepository.save(assistantMessage); // 명시적으로 메시지 저장
-        session.getMessages().add(assistantMessage);  // messages 컬렉션에 추가
+        // 2. AI 응답 생성 (트랜잭션 밖)
+        String aiResponse = generateAIResponse(prepared.prompt());
 
-        // 세션 업데이트
-        chatSessionRepository.save(session);
-
-        // 전체 대화 기록 포함하여 반환
-        List<ChatDto.Message> conversationHistory = session.getMessages().stream()
-                .map(msg -> new ChatDto.Message(msg.getRole(), msg.getContent()))
-                .collect(Collectors.toList());
-
-        return ChatDto.ChatCompletionResponse.builder()
-                .response(aiResponse)
-                .sessionId(session.getId())
-                .conversationHistory(conversationHistory)
-                .build();
+        // 3. AI 응답 메시지 저장
+        return saveAssistantMessage(prepared, aiResponse);
     }
 
     @Transactional
@@ -104,33 +97,167 @@ public class ChatService {
         chatSessionRepository.delete(session);
     }
 
-    private String generateAIResponse(List<ChatMessage> messages) {
-        OpenAiService service = new OpenAiService(openAIConfig.getApiKey());
+    /**
+     * 단일 메시지 응답을 SSE 로 토큰 단위 스트리밍합니다.
+     * token 이벤트로 조각을 보내고, 끝나면 done 이벤트로 전체 응답을 보냅니다.
+     */
+    public SseEmitter streamChatCompletion(ChatDto.ChatCompletionRequest request) {
+        List<ChatDto.Message> history = List.of(new ChatDto.Message("user", request.getMessage()));
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        stream(history, emitter, response -> ChatDto.ChatCompletionResponse.builder()
+                .response(response)
+                .conversationHistory(withAssistant(history, response))
+                .sessionId(null)
+                .build());
+        return emitter;
+    }
+
+    /**
+     * 대화 응답을 SSE 로 스트리밍합니다.
+     * 세션과 사용자 메시지는 스트리밍 전에 짧은 트랜잭션으로 저장하고, 응답 메시지는 스트림이 끝난 뒤 저장합니다.
+     * 외부 API 를 기다리는 동안에는 트랜잭션과 DB 커넥션을 잡지 않습니다.
+     */
+    public SseEmitter streamConversation(Long userId, String sessionId, boolean newConversation,
+                                         ChatDto.ChatCompletionRequest request) {
+        PreparedConversation prepared = prepare(userId, sessionId, newConversation, request);
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        stream(prepared.prompt(), emitter, response -> saveAssistantMessage(prepared, response));
+        return emitter;
+    }
+
+    private record PreparedConversation(String sessionId, List<ChatDto.Message> prompt,
+                                        List<ChatDto.Message> recent) {
+    }
+
+    // 세션을 찾거나 만들고 사용자 메시지를 저장한 뒤 프롬프트를 구성합니다.
+    private PreparedConversation prepare(Long userId, String sessionId, boolean newConversation,
+                                         ChatDto.ChatCompletionRequest request) {
+        return transactionTemplate.execute(status -> {
+            ChatSession session;
+            // 새 대화 시작이거나 세션 ID가 없는 경우
+            if (newConversation || sessionId == null || sessionId.isEmpty()) {
+                session = chatSessionRepository.save(new ChatSession(userId));
+            } else {
+                session = chatSessionRepository.findByIdAndUserId(sessionId, userId)
+                        .orElseThrow(() -> new ResourceNotFoundException("세션을 찾을 수 없습니다"));
+            }
 
+            ChatMessage userMessage = new ChatMessage("user", request.getMessage());
+            userMessage.setSession(session);
+            chatMessageRepository.save(userMessage);
+
+            // 요약 + 토큰 예산 안의 최근 대화로 프롬프트 구성
+            ChatContextService.Context context = chatContextService.build(session);
+            return new PreparedConversation(session.getId(), context.prompt(), context.recent());
+        });
+    }
+
+    private ChatDto.ChatCompletionResponse saveAssistantMessage(PreparedConversation prepared, String response) {
+        return transactionTemplate.execute(status -> {
+            ChatSession session = chatSessionRepository.getReferenceById(prepared.sessionId());
+            ChatMessage assistantMessage = new ChatMessage("assistant", response);
+            assistantMessage.setSession(session);
+            chatMessageRepository.save(assistantMessage);
+            // 오래된 세션 정리 기준
+            session.setUpdatedAt(LocalDateTime.now());
+
+            return ChatDto.ChatCompletionResponse.builder()
+                    .response(response)
+                    .sessionId(prepared.sessionId())
+                    .conversationHistory(withAssistant(prepared.recent(), response))
+                    .build();
+        });
+    }
+
+    /**
+     * 스트리밍 완료 API 를 구독해 받은 조각을 바로 emitter 로 보냅니다.
+     * 클라이언트가 연결을 끊거나 시간이 초과되면 구독을 해제해 OpenAI 요청도 취소합니다.
+     * 스트림이 끝까지 완료된 경우에만 onComplete 로 응답을 저장합니다.
+     */
+    private void stream(List<ChatDto.Message> history, SseEmitter emitter,
+                        Function<String, ChatDto.ChatCompletionResponse> onComplete) {
+        StringBuilder response = new StringBuilder();
+        long started = System.nanoTime();
+        AtomicBoolean firstToken = new AtomicBoolean(true);
+
+        Disposable subscription = llmClient.stream(FEATURE, buildRequest(history))
+                .subscribe(chunk -> {
+                    if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+                        return;
+                    }
+                    String token = chunk.getChoices().get(0).getMessage().getContent();
+                    if (token == null || token.isEmpty()) {
+                        return;
+                    }
+                    if (firstToken.compareAndSet(true, false)) {
+                        Timer.builder("chat.stream.first_token")
+                                .description("스트리밍 요청부터 첫 토큰까지 걸린 시간")
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    }
+                    response.append(token);
+                    emitter.send(SseEmitter.event().name("token").data(token, MediaType.TEXT_PLAIN));
+                }, error -> {
+                    log.error("채팅 스트리밍 중 오류 발생", error);
+                    sendErrorAndComplete(emitter);
+                }, () -> {
+                    try {
+                        ChatDto.ChatCompletionResponse completed = onComplete.apply(response.toString());
+                        Timer.builder("chat.stream.duration")
+                                .description("스트리밍 응답 전체 시간")
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        emitter.send(SseEmitter.event().name("done").data(completed, MediaType.APPLICATION_JSON));
+                        emitter.complete();
+                    } catch (Exception e) {
+                        log.error("채팅 스트리밍 완료 처리 중 오류 발생", e);
+                        sendErrorAndComplete(emitter);
+                    }
+                });
+
+        Runnable cancel = () -> {
+            if (!subscription.isDisposed()) {
+                subscription.dispose();
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+    }
+
+    private static void sendErrorAndComplete(SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data("응답 생성에 실패했습니다.", MediaType.TEXT_PLAIN));
+            emitter.complete();
+        } catch (Exception e) {
+            // 클라이언트가 이미 연결을 끊은 경우
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static List<ChatDto.Message> withAssistant(List<ChatDto.Message> history, String response) {
+        List<ChatDto.Message> conversation = new ArrayList<>(history);
+        conversation.add(new ChatDto.Message("assistant", response));
+        return conversation;
+    }
+
+    private ChatCompletionRequest buildRequest(List<ChatDto.Message> messages) {
         List<com.theokanning.openai.completion.chat.ChatMessage> openAiMessages = messages.stream()
                 .map(msg -> new com.theokanning.openai.completion.chat.ChatMessage(msg.getRole(), msg.getContent()))
                 .collect(Collectors.toList());
 
-        ChatCompletionRequest openAiRequest = ChatCompletionRequest.builder()
-                .model(openAIConfig.getModel())
+        return llmClient.requestBuilder()
                 .messages(openAiMessages)
-                .maxTokens(openAIConfig.getMaxTokens())
-                .temperature(openAIConfig.getTemperature())
                 .build();
-
-        ChatCompletionResult result = service.createChatCompletion(openAiRequest);
-        return result.getChoices().get(0).getMessage().getContent();
     }
 
-    // 30일이 지난 세션 자동 삭제 (선택적 기능)
-    @Scheduled(cron = "0 0 1 * * ?") // 매일 새벽 1시에 실행
-    @Transactional
-    public void cleanupOldSessions() {
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-        List<ChatSession> oldSessions = chatSessionRepository.findByUpdatedAtBefore(thirtyDaysAgo);
+    private String generateAIResponse(List<ChatDto.Message> messages) {
+        return complete(buildRequest(messages));
+    }
 
-        if (!oldSessions.isEmpty()) {
-            chatSessionRepository.deleteAll(oldSessions);
-        }
+    private String complete(ChatCompletionRequest request) {
+        ChatCompletionResult result = llmClient.complete(FEATURE, request);
+        return result.getChoices().get(0).getMessage().getContent();
     }
 }
\ No newline at end of file
@@ -42,6 +42,9 @@ public class Community {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "community", fetch = FetchType.LAZY)
     private List<CommunityMember> members = new ArrayList<>();
 
@@ -49,6 +52,12 @@ public class Community {
     protected void onCreate() {
         isDefault = isDefault == null ? true : isDefault;
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     public void setCreator(User creator) {
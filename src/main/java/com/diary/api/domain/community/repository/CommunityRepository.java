@@ -1,5 +1,6 @@
 package com.diary.api.domain.community.repository;
 
+import com.diary.api.common.VersionStamp;
 import com.diary.api.domain.community.entity.Community;
 import com.diary.api.domain.community.entity.CommunityMember;
 import com.diary.api.domain.user.entity.User;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +38,16 @@ public interface CommunityRepository extends JpaRepository<Community, Long> {
     @Query("SELECT c FROM Community c JOIN c.members m WHERE m.userId = :userId AND m.isActive = true")
     List<Community> findByUserIdAndIsActive(@Param("userId") Long userId);
 
+    // 커뮤니티 최종 수정 시각 (updated_at 이 없는 기존 행은 생성 시각)
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM Community c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    // 멤버 목록 버전 (전체 수, 활성 수, 최근 가입 시각)
+    @Query("SELECT new com.diary.api.common.VersionStamp(COUNT(m), " +
+            "SUM(CASE WHEN m.isActive = true THEN 1 ELSE 0 END), MAX(m.joinedAt)) " +
+            "FROM CommunityMember m WHERE m.communityId = :communityId")
+    VersionStamp findMemberVersion(@Param("communityId") Long communityId);
+
     // 사용자의 커뮤니티 멤버십 조회
     @Query("SELECT m FROM CommunityMember m WHERE m.userId = :userId AND m.communityId = :communityId AND m.isActive = true")
     Optional<CommunityMember> findActiveMembership(@Param("userId") Long userId,
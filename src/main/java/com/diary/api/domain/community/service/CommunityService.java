@@ -1,6 +1,8 @@
 package com.diary.api.domain.community.service;
 
 import com.diary.api.common.ApiResponse;
+import com.diary.api.common.ETags;
+import com.diary.api.common.VersionStamp;
 import com.diary.api.common.exception.BusinessException;
 import com.diary.api.common.exception.ResourceNotFoundException;
 import com.diary.api.domain.community.entity.Community;
@@ -17,6 +19,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -47,6 +50,28 @@ public class CommunityService {
         }
     }
 
+    /**
+     * 커뮤니티 상세 응답의 ETag. 커뮤니티 수정 시각과 멤버 목록 버전으로 만듭니다.
+     */
+    public String getCommunityETag(Long id) {
+        LocalDateTime lastModified = communityRepository.findLastModifiedById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("커뮤니티를 찾을 수 없습니다."));
+        VersionStamp members = communityRepository.findMemberVersion(id);
+        return ETags.strong("community", id, lastModified, members);
+    }
+
+    /**
+     * 커뮤니티 공개 일기 목록 응답의 ETag. 멤버 목록 버전과 멤버 공개 일기 버전으로 만듭니다.
+     */
+    public String getPublicCommunityDiariesETag(Long communityId) {
+        if (!communityRepository.existsById(communityId)) {
+            throw new ResourceNotFoundException("Community not found with id: " + communityId);
+        }
+        VersionStamp members = communityRepository.findMemberVersion(communityId);
+        VersionStamp diaries = diaryRepository.findPublicVersionByCommunityId(communityId);
+        return ETags.strong("community-diaries", communityId, members, diaries);
+    }
+
     public ApiResponse<Community> getCommunity(Long id) {
         try {
             Community community = communityRepository.findById(id)
@@ -0,0 +1,28 @@
+package com.diary.api.domain.diary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.analysis")
+@Configuration
+public class DiaryAnalysisProperties {
+    // 분석 워커 사용 여부
+    private boolean enabled = true;
+    // 대기열 폴링 주기 (@Scheduled 에서 diary.analysis.poll-interval-ms 로 직접 참조)
+    private long pollIntervalMs = 5000;
+    // 한 번에 가져올 최대 일기 수
+    private int batchSize = 8;
+    // 분석 스레드 수
+    private int workerThreads = 4;
+    // 동시에 처리 중일 수 있는 최대 일기 수
+    private int maxInFlight = 16;
+    // 사용자 한 명당 동시에 처리 중일 수 있는 최대 일기 수
+    private int maxInFlightPerUser = 2;
+    // 처리 중 표시의 임대 시간. 이보다 오래 processing 인 일기는 멈춘 것으로 보고 다시 대기 상태로 되돌림
+    // (LLM 타임아웃보다 충분히 길어야 살아 있는 인스턴스의 작업을 빼앗지 않음)
+    private long claimLeaseMs = 600_000;
+}
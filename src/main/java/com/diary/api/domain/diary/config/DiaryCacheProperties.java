@@ -0,0 +1,17 @@
+package com.diary.api.domain.diary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.cache")
+@Configuration
+public class DiaryCacheProperties {
+    // 일기 상세 캐시 최대 크기 (본문 등 문자열 길이 기준 추정 바이트)
+    private long maximumWeightBytes = 64L * 1024 * 1024;
+    // 무효화를 놓친 경우를 대비한 최대 보관 시간
+    private long expireAfterWriteMinutes = 30;
+}
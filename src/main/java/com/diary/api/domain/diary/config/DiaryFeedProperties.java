@@ -0,0 +1,17 @@
+package com.diary.api.domain.diary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.feed")
+@Configuration
+public class DiaryFeedProperties {
+    // 캐시된 피드 페이지 유지 시간
+    private long ttlSeconds = 30;
+    // 캐시에 보관할 최대 페이지 수 (감정 x 커서 x 크기 조합)
+    private long maximumPages = 1000;
+}
@@ -0,0 +1,21 @@
+package com.diary.api.domain.diary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.purge")
+@Configuration
+public class DiaryPurgeProperties {
+    // 삭제 표시된 일기 정리 사용 여부
+    private boolean enabled = true;
+    // 정리 주기 (@Scheduled 에서 diary.purge.interval-ms 로 직접 참조)
+    private long intervalMs = 60_000;
+    // 한 트랜잭션에서 삭제할 최대 일기 수
+    private int batchSize = 500;
+    // 한 번 실행할 때 처리할 최대 배치 수
+    private int maxBatchesPerRun = 20;
+}
@@ -0,0 +1,22 @@
+package com.diary.api.domain.diary.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DiaryStorageConfig {
+    static final String COMPRESSED_TEXT_MAPPING = "META-INF/diary-compressed-text.orm.xml";
+
+    /**
+     * 압축 저장을 켠 경우에만 본문/요약/피드백을 바이너리 컬럼 + 압축 컨버터로 매핑합니다.
+     * 꺼져 있으면 엔티티의 TEXT 매핑을 그대로 씁니다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "diary.storage", name = "compress-text", havingValue = "true")
+    public EntityManagerFactoryBuilderCustomizer compressedTextMapping() {
+        return builder -> builder.setPersistenceUnitPostProcessors(
+                unit -> unit.addMappingFileName(COMPRESSED_TEXT_MAPPING));
+    }
+}
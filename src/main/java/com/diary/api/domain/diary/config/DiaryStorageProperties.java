@@ -0,0 +1,19 @@
+package com.diary.api.domain.diary.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.storage")
+@Configuration
+public class DiaryStorageProperties {
+    // 본문/요약/피드백 압축 저장 사용 여부 (db/diary-text-to-blob.sql 로 컬럼을 바꾼 뒤 켜면 기존 행을 다시 씀)
+    private boolean compressText = false;
+    // 이 크기(UTF-8 바이트) 이상인 값만 압축
+    private int compressionThresholdBytes = 512;
+    // 기존 행 재인코딩 배치 크기
+    private int reencodeBatchSize = 200;
+}
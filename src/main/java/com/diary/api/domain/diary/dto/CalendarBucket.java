@@ -0,0 +1,14 @@
+package com.diary.api.domain.diary.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 캘린더 집계 쿼리 결과 한 행 (날짜 x 대표 감정)
+ */
+public record CalendarBucket(
+        LocalDate day,
+        String primaryEmotion,
+        Long diaryCount,
+        Double intensitySum,
+        Long intensityCount) {
+}
@@ -0,0 +1,16 @@
+package com.diary.api.domain.diary.dto;
+
+import com.diary.api.domain.diary.entity.EmotionVector;
+
+import java.util.List;
+
+/**
+ * 일기 분석 결과
+ */
+public record DiaryAnalysisResult(
+        String summary,
+        String feedback,
+        List<String> tags,
+        String primaryEmotion,
+        EmotionVector emotionVector) {
+}
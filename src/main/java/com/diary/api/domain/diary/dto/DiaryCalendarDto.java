@@ -0,0 +1,28 @@
+package com.diary.api.domain.diary.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 캘린더 히트맵 응답
+ * 객체 배열 대신 같은 인덱스끼리 한 날짜를 이루는 병렬 배열로 보내 응답 크기를 줄입니다.
+ * 일기가 있는 날짜만 포함합니다.
+ */
+@Getter
+@Builder
+public class DiaryCalendarDto {
+    private LocalDate from;
+    private LocalDate to;
+    // 감정 코드표: emotion[i] 는 이 목록의 인덱스
+    private List<String> emotions;
+    // from 기준 경과 일수
+    private int[] day;
+    private int[] count;
+    // 그날 가장 많이 나온 대표 감정 코드, 분석 전이면 -1
+    private int[] emotion;
+    // 그날 감정 강도 평균 (0~1, 소수 둘째 자리), 분석 전이면 null
+    private Float[] intensity;
+}
@@ -0,0 +1,34 @@
+package com.diary.api.domain.diary.dto;
+
+import com.diary.api.common.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * (createdAt, id) 키셋 페이지네이션 커서
+ * 클라이언트에는 Base64 URL 인코딩된 불투명 문자열로만 노출합니다.
+ */
+public record DiaryCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DiaryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new DiaryCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("잘못된 커서입니다.", e);
+        }
+    }
+}
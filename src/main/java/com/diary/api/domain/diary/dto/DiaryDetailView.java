@@ -0,0 +1,24 @@
+package com.diary.api.domain.diary.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일기 상세 조회용 프로젝션
+ * emotionVector 는 응답에 포함되지 않으므로 조회하지 않습니다.
+ */
+public record DiaryDetailView(
+        Long id,
+        String content,
+        Boolean isPublic,
+        String summary,
+        String feedback,
+        List<String> tags,
+        String primaryEmotion,
+        String analysisStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String imageUrl,
+        Long userId,
+        String userEmail) {
+}
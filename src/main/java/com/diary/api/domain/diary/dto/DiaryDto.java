@@ -1,18 +1,21 @@
 package com.diary.api.domain.diary.dto;
 
 import com.diary.api.domain.diary.entity.Diary;
+import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
-import org.springframework.beans.BeanUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Getter
-@Setter
+@Builder
 public class DiaryDto {
     private Long id;
     private String content;
+    // 목록 응답에서는 content 대신 채워짐
+    private String preview;
     private Boolean isPublic;
     private String summary;
     private String feedback;
@@ -29,15 +32,62 @@ public class DiaryDto {
 
     // Diary 엔티티를 DTO로 변환하는 정적 메서드
     public static DiaryDto from(Diary diary) {
-        DiaryDto dto = new DiaryDto();
-        BeanUtils.copyProperties(diary, dto);
+        DiaryDtoBuilder builder = DiaryDto.builder()
+                .id(diary.getId())
+                .content(diary.getContent())
+                .preview(diary.getPreview())
+                .isPublic(diary.getIsPublic())
+                .summary(diary.getSummary())
+                .feedback(diary.getFeedback())
+                .tags(diary.getTags())
+                .primaryEmotion(diary.getPrimaryEmotion())
+                .analysisStatus(diary.getAnalysisStatus())
+                .createdAt(diary.getCreatedAt())
+                .updatedAt(diary.getUpdatedAt())
+                .imageUrl(diary.getImageUrl());
 
         // User 정보는 필요한 것만 복사
         if (diary.getUser() != null) {
-            dto.setUserId(diary.getUser().getId());
-            dto.setUserName(diary.getUser().getEmail());
+            builder.userId(diary.getUser().getId())
+                    .userName(diary.getUser().getEmail());
         }
 
-        return dto;
+        return builder.build();
+    }
+
+    // 목록 프로젝션을 DTO로 변환 (본문/요약/피드백 대신 미리보기)
+    public static DiaryDto from(DiaryListView view) {
+        return DiaryDto.builder()
+                .id(view.id())
+                .preview(view.preview())
+                .isPublic(view.isPublic())
+                .tags(view.tags())
+                .primaryEmotion(view.primaryEmotion())
+                .analysisStatus(view.analysisStatus())
+                .createdAt(view.createdAt())
+                .updatedAt(view.updatedAt())
+                .imageUrl(view.imageUrl())
+                .userId(view.userId())
+                .userName(view.userEmail())
+                .build();
+    }
+
+    // 상세 프로젝션을 DTO로 변환 (상세 캐시에 공유되므로 태그 목록은 읽기 전용 사본)
+    public static DiaryDto from(DiaryDetailView view) {
+        return DiaryDto.builder()
+                .id(view.id())
+                .content(view.content())
+                .isPublic(view.isPublic())
+                .summary(view.summary())
+                .feedback(view.feedback())
+                .tags(view.tags() == null ? null : Collections.unmodifiableList(new ArrayList<>(view.tags())))
+                .primaryEmotion(view.primaryEmotion())
+                .analysisStatus(view.analysisStatus())
+                .createdAt(view.createdAt())
+                .updatedAt(view.updatedAt())
+                .imageUrl(view.imageUrl())
+                .userId(view.userId())
+                .userName(view.userEmail())
+                .build();
     }
 }
@@ -0,0 +1,23 @@
+package com.diary.api.domain.diary.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NDJSON 내보내기/가져오기 한 줄에 해당하는 일기
+ * 가져오기 시 id 는 무시하고 새로 발급합니다.
+ */
+public record DiaryExportRecord(
+        Long id,
+        String content,
+        Boolean isPublic,
+        String summary,
+        String feedback,
+        List<String> tags,
+        String primaryEmotion,
+        float[] emotionVector,
+        String analysisStatus,
+        String imageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
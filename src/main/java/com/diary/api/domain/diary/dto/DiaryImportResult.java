@@ -0,0 +1,7 @@
+package com.diary.api.domain.diary.dto;
+
+/**
+ * 가져오기 결과 (건너뛴 줄은 본문이 비었거나 JSON 형식이 잘못된 줄)
+ */
+public record DiaryImportResult(long imported, long skipped) {
+}
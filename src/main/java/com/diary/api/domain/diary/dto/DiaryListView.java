@@ -0,0 +1,22 @@
+package com.diary.api.domain.diary.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일기 목록 조회용 프로젝션
+ * 본문/요약/피드백 대신 미리보기만 조회하고 작성자 이메일은 같은 쿼리에서 조인합니다.
+ */
+public record DiaryListView(
+        Long id,
+        String preview,
+        Boolean isPublic,
+        List<String> tags,
+        String primaryEmotion,
+        String analysisStatus,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String imageUrl,
+        Long userId,
+        String userEmail) {
+}
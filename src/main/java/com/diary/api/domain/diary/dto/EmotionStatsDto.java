@@ -0,0 +1,34 @@
+package com.diary.api.domain.diary.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기간별 감정 통계 응답
+ */
+@Getter
+@Builder
+public class EmotionStatsDto {
+    private LocalDate from;
+    private LocalDate to;
+    private int diaryCount;
+    private Map<String, Integer> emotionCounts;
+    private String dominantEmotion;
+    // 감정 벡터 성분별 평균 (EmotionVector.LABELS 순서), 분석된 일기가 없으면 null
+    private float[] averageVector;
+    private List<Daily> days;
+
+    @Getter
+    @Builder
+    public static class Daily {
+        private LocalDate date;
+        private int diaryCount;
+        private Map<String, Integer> emotionCounts;
+        private String dominantEmotion;
+        private float[] averageVector;
+    }
+}
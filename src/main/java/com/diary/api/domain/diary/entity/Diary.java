@@ -1,6 +1,6 @@
 package com.diary.api.domain.diary.entity;
 
-import com.diary.api.domain.diary.entity.converter.EmotionVectorConverter;
+import com.diary.api.domain.diary.entity.converter.EmotionVectorBinaryConverter;
 import com.diary.api.domain.diary.entity.converter.TagsConverter;
 import com.diary.api.domain.user.entity.User;
 import jakarta.persistence.*;
@@ -8,20 +8,38 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.LazyGroup;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "diaries")
+@Table(name = "diaries", indexes = {
+        @Index(name = "idx_diaries_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_diaries_emotion_public_created_id", columnList = "primary_emotion, is_public, created_at, id"),
+        @Index(name = "idx_diaries_deleted_at", columnList = "deleted_at"),
+        // 분석 대기열 잠금(ORDER BY created_at, id)과 상태별 개수 조회를 범위 스캔으로
+        @Index(name = "idx_diaries_analysis_status_created_id", columnList = "analysis_status, created_at, id")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// 바뀐 컬럼만 UPDATE 해 공개 여부/태그 수정 시 본문 TEXT 를 다시 쓰지 않음
+@DynamicUpdate
+// 삭제 표시된 일기는 모든 JPQL/엔티티 조회에서 제외 (네이티브 SQL 은 직접 조건을 붙여야 함)
+@SQLRestriction("deleted_at IS NULL")
 public class Diary {
+    public static final int PREVIEW_LENGTH = 200;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,27 +49,45 @@ public class Diary {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // 본문/요약/피드백은 처음 접근할 때 한 번에 지연 로딩 (빌드 시 바이트코드 확장 필요)
+    // diary.storage.compress-text 설정 시 META-INF/diary-compressed-text.orm.xml 이 압축 저장 매핑으로 덮어씀
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("body")
     @Column(nullable = false, columnDefinition = "text")
     private String content;
 
+    // 목록용 본문 미리보기
+    @Column(name = "preview", length = PREVIEW_LENGTH + 1)
+    private String preview;
+
     @Column(name = "is_public")
     private Boolean isPublic;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("body")
     @Column(columnDefinition = "text")
     private String summary;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("body")
     @Column(columnDefinition = "text")
     private String feedback;
 
+    // 목록은 통째로 교체만 하므로 불변으로 취급해, 변경 감지 때 JSON 직렬화 사본을 만들지 않음
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
     @Convert(converter = TagsConverter.class)
+    @Mutability(Immutability.class)
     private List<String> tags;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "emotion_vector", columnDefinition = "jsonb")
-    @Convert(converter = EmotionVectorConverter.class)
-    private List<Double> emotionVector;
+    @Column(name = "emotion_vector_bin", columnDefinition = "binary(" + EmotionVector.BYTES + ")")
+    @Convert(converter = EmotionVectorBinaryConverter.class)
+    @Mutability(Immutability.class)
+    private EmotionVector emotionVector;
+
+    // 캘린더 집계용 감정 강도 (emotionVector.intensity())
+    @Column(name = "emotion_intensity")
+    private Float emotionIntensity;
 
     @Column(name = "primary_emotion", length = 50)
     private String primaryEmotion;
@@ -62,6 +98,10 @@ public class Diary {
     @Column(name = "analyzed_at")
     private LocalDateTime analyzedAt;
 
+    // 분석 워커가 processing 으로 가져간 시각, 임대 시간이 지나면 다시 대기 상태로 되돌림
+    @Column(name = "analysis_claimed_at")
+    private LocalDateTime analysisClaimedAt;
+
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
@@ -71,8 +111,13 @@ public class Diary {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // 삭제 표시 시각, 실제 삭제는 DiaryPurgeService 가 수행
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
+        preview = previewOf(content);
         isPublic = isPublic == null ? false : isPublic;
         analysisStatus = analysisStatus == null ? "pending" : analysisStatus;
         createdAt = LocalDateTime.now();
@@ -86,9 +131,14 @@ public class Diary {
 
     public void updateContent(String content) {
         this.content = content;
+        this.preview = previewOf(content);
         this.updatedAt = LocalDateTime.now();
     }
 
+    public void markDeleted() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
     public void setIsPublic(Boolean isPublic) {
         this.isPublic = isPublic;
     }
@@ -106,7 +156,7 @@ public class Diary {
     }
 
     public void setTags(List<String> tags) {
-        this.tags = tags;
+        this.tags = tags == null ? null : Collections.unmodifiableList(new ArrayList<>(tags));
     }
 
     public void updateAnalysisStatus(String status) {
@@ -116,6 +166,16 @@ public class Diary {
         }
     }
 
+    public void applyAnalysis(String summary, String feedback, List<String> tags,
+            String primaryEmotion, EmotionVector emotionVector) {
+        this.summary = summary;
+        this.feedback = feedback;
+        setTags(tags);
+        this.primaryEmotion = primaryEmotion;
+        setEmotionVector(emotionVector);
+        updateAnalysisStatus("completed");
+    }
+
     public void setUser(User user) {
         this.user = user;
     }
@@ -124,7 +184,22 @@ public class Diary {
         this.analysisStatus = analysisStatus;
     }
 
-    public void setEmotionVector(List<Double> emotionVector) {
+    public void setEmotionVector(EmotionVector emotionVector) {
         this.emotionVector = emotionVector;
+        this.emotionIntensity = emotionVector == null ? null : emotionVector.intensity();
+    }
+
+    /**
+     * 공백을 한 칸으로 줄인 본문 앞부분. 길면 PREVIEW_LENGTH 글자에서 자르고 말줄임표를 붙입니다.
+     */
+    public static String previewOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        String normalized = content.strip().replaceAll("\\s+", " ");
+        if (normalized.codePointCount(0, normalized.length()) <= PREVIEW_LENGTH) {
+            return normalized;
+        }
+        return normalized.substring(0, normalized.offsetByCodePoints(0, PREVIEW_LENGTH)) + "…";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.diary.api.domain.diary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 태그 역색인 (tag -> diary)
+ * 공개 여부와 작성 시각을 함께 저장해 태그 조회를 인덱스 탐색만으로 처리합니다.
+ */
+@Entity
+@Table(name = "diary_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_diary_tags_diary_tag", columnNames = { "diary_id", "tag" }),
+        indexes = @Index(name = "idx_diary_tags_tag_public_created", columnList = "tag, is_public, created_at, diary_id"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiaryTag {
+
+    public static final int MAX_TAG_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = MAX_TAG_LENGTH)
+    private String tag;
+
+    @Column(name = "diary_id", nullable = false)
+    private Long diaryId;
+
+    @Column(name = "is_public", nullable = false)
+    private Boolean isPublic;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public static DiaryTag create(Diary diary, String tag) {
+        return DiaryTag.builder()
+                .tag(tag)
+                .diaryId(diary.getId())
+                .isPublic(Boolean.TRUE.equals(diary.getIsPublic()))
+                .createdAt(diary.getCreatedAt())
+                .build();
+    }
+}
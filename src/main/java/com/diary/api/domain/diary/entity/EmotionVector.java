@@ -0,0 +1,104 @@
+package com.diary.api.domain.diary.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 감정 벡터 값 객체
+ * 원시 float 배열로 보관하고, DB 에는 고정 폭 little-endian 바이너리로 저장합니다.
+ */
+public final class EmotionVector {
+    public static final int DIMENSIONS = 10;
+    public static final int BYTES = DIMENSIONS * Float.BYTES;
+
+    // 벡터 각 차원이 나타내는 감정 (인덱스 순서)
+    public static final List<String> LABELS = List.of(
+            "기쁨", "슬픔", "분노", "불안", "평온", "사랑", "놀람", "피곤", "외로움", "감사");
+
+    private static final VarHandle FLOAT_LE =
+            MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final float[] values;
+
+    private EmotionVector(float[] values) {
+        this.values = values;
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static EmotionVector of(float[] values) {
+        return new EmotionVector(Arrays.copyOf(values, DIMENSIONS));
+    }
+
+    public static EmotionVector fromDoubles(List<Double> values) {
+        float[] result = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS && i < values.size(); i++) {
+            Double value = values.get(i);
+            result[i] = value == null ? 0f : value.floatValue();
+        }
+        return new EmotionVector(result);
+    }
+
+    /**
+     * little-endian float 바이트 배열에서 복원합니다. 남는 차원은 0 으로 채웁니다.
+     */
+    public static EmotionVector fromBytes(byte[] bytes) {
+        float[] result = new float[DIMENSIONS];
+        int dims = Math.min(DIMENSIONS, bytes.length / Float.BYTES);
+        for (int i = 0; i < dims; i++) {
+            result[i] = (float) FLOAT_LE.get(bytes, i * Float.BYTES);
+        }
+        return new EmotionVector(result);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            FLOAT_LE.set(bytes, i * Float.BYTES, values[i]);
+        }
+        return bytes;
+    }
+
+    public float get(int index) {
+        return values[index];
+    }
+
+    /**
+     * 감정 강도: 가장 강한 성분 값
+     */
+    public float intensity() {
+        float max = 0f;
+        for (float value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @JsonValue
+    public float[] toArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof EmotionVector other && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,73 @@
+package com.diary.api.domain.diary.entity;
+
+import com.diary.api.domain.diary.entity.converter.EmotionVectorBinaryConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 사용자별 일일 감정 집계
+ * 분석이 끝난 일기 수, 대표 감정별 개수, 감정 벡터 성분 합계를 하루 한 행으로 유지합니다.
+ * 평균 벡터는 vectorSum / vectorCount 로 계산합니다.
+ */
+@Entity
+@Table(name = "user_emotion_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_emotion_daily_user_date", columnNames = { "user_id", "stat_date" }))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEmotionDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "diary_count", nullable = false)
+    private int diaryCount;
+
+    @Column(name = "vector_count", nullable = false)
+    private int vectorCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "emotion_counts", columnDefinition = "json")
+    private Map<String, Integer> emotionCounts;
+
+    @Column(name = "vector_sum", columnDefinition = "binary(" + EmotionVector.BYTES + ")")
+    @Convert(converter = EmotionVectorBinaryConverter.class)
+    private EmotionVector vectorSum;
+
+    /**
+     * 집계 변화량을 더합니다. 빠지는 쪽은 음수로 전달합니다.
+     */
+    public void apply(int diaryDelta, int vectorDelta, Map<String, Integer> emotionDeltas, float[] vectorDeltas) {
+        this.diaryCount += diaryDelta;
+        this.vectorCount += vectorDelta;
+
+        // JSON 컬럼 변경 감지를 위해 새 맵으로 교체
+        Map<String, Integer> counts = emotionCounts == null ? new HashMap<>() : new HashMap<>(emotionCounts);
+        emotionDeltas.forEach((emotion, delta) -> counts.merge(emotion, delta, Integer::sum));
+        counts.values().removeIf(count -> count <= 0);
+        this.emotionCounts = counts;
+
+        float[] sums = vectorSum == null ? new float[EmotionVector.DIMENSIONS] : vectorSum.toArray();
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] += vectorDeltas[i];
+        }
+        this.vectorSum = vectorCount > 0 ? EmotionVector.of(sums) : null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.diary.api.domain.diary.entity.converter;
+
+import com.diary.api.domain.diary.config.DiaryStorageProperties;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 긴 본문 <-> 압축 바이트 컨버터
+ * 헤더 없는 값은 평문 UTF-8 로 읽으므로 기존 행을 그대로 읽을 수 있습니다.
+ * 압축한 값은 [0x00][버전][코덱][원본 길이 4바이트] 헤더 뒤에 Deflate 데이터를 둡니다.
+ * UTF-8 본문은 NUL 로 시작하지 않으므로 첫 바이트로 평문과 구분합니다. (NUL 로 시작하면 저장 코덱으로 감쌈)
+ * 엔티티에는 diary.storage.compress-text 가 켜졌을 때만 META-INF/diary-compressed-text.orm.xml 로 연결됩니다.
+ */
+@Component
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+    private static final byte MARKER = 0x00;
+    private static final byte VERSION = 1;
+    private static final byte CODEC_STORED = 0;
+    private static final byte CODEC_DEFLATE = 1;
+    private static final int HEADER_BYTES = 7;
+
+    // 압축할 최소 바이트 수, 0 이면 압축하지 않음
+    private final int compressionThreshold;
+
+    public CompressedTextConverter(DiaryStorageProperties properties) {
+        this.compressionThreshold = properties.isCompressText()
+                ? Math.max(properties.getCompressionThresholdBytes(), 1)
+                : 0;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionThreshold > 0;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return decode(dbData);
+    }
+
+    public byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+        if (compressionThreshold > 0 && plain.length >= compressionThreshold) {
+            byte[] compressed = deflate(plain);
+            // 10% 이상 줄지 않으면 평문으로 저장
+            if (compressed.length + HEADER_BYTES < plain.length * 0.9) {
+                return withHeader(CODEC_DEFLATE, plain.length, compressed);
+            }
+        }
+        if (plain.length > 0 && plain[0] == MARKER) {
+            return withHeader(CODEC_STORED, plain.length, plain);
+        }
+        return plain;
+    }
+
+    public static String decode(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != MARKER) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        if (data.length < HEADER_BYTES || data[1] != VERSION) {
+            throw new IllegalStateException("알 수 없는 본문 저장 형식입니다.");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data, 3, 4);
+        int length = header.getInt();
+        if (length < 0) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+        }
+        return switch (data[2]) {
+            case CODEC_STORED -> {
+                if (length != data.length - HEADER_BYTES) {
+                    throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+                }
+                yield new String(data, HEADER_BYTES, length, StandardCharsets.UTF_8);
+            }
+            case CODEC_DEFLATE -> new String(inflate(data, length), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("알 수 없는 본문 압축 코덱입니다: " + data[2]);
+        };
+    }
+
+    /**
+     * JDBC 로 직접 쓰는 경로용. 압축을 쓰지 않으면 TEXT 컬럼에 문자열 그대로 바인딩합니다.
+     */
+    public void bind(PreparedStatement ps, int index, String text) throws SQLException {
+        if (isCompressionEnabled()) {
+            ps.setBytes(index, encode(text));
+        } else {
+            ps.setString(index, text);
+        }
+    }
+
+    /**
+     * 헤더가 붙은(압축 또는 저장 코덱) 값인지 확인합니다.
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MARKER;
+    }
+
+    private static byte[] withHeader(byte codec, int length, byte[] payload) {
+        return ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .put(MARKER)
+                .put(VERSION)
+                .put(codec)
+                .putInt(length)
+                .put(payload)
+                .array();
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2 + 64);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, HEADER_BYTES, data.length - HEADER_BYTES);
+            byte[] plain = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(plain, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+            }
+            return plain;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.diary.api.domain.diary.entity.converter;
+
+import com.diary.api.domain.diary.entity.EmotionVector;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 감정 벡터 <-> BINARY(40) 컨버터
+ * JSON 파싱이나 박싱 없이 float 10개를 little-endian 으로 그대로 읽고 씁니다.
+ */
+@Converter
+public class EmotionVectorBinaryConverter implements AttributeConverter<EmotionVector, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(EmotionVector attribute) {
+        return attribute == null ? null : attribute.toBytes();
+    }
+
+    @Override
+    public EmotionVector convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return null;
+        }
+        return EmotionVector.fromBytes(dbData);
+    }
+}
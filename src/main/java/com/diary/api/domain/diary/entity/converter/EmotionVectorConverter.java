@@ -10,6 +10,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 기존 emotion_vector JSON 컬럼 파서
+ * 엔티티는 EmotionVectorBinaryConverter 를 사용하며, 이 클래스는 JSON 행을 바이너리로 옮기는 마이그레이션에서만 사용합니다.
+ */
 @Slf4j
 @Converter
 public class EmotionVectorConverter implements AttributeConverter<List<Double>, String> {
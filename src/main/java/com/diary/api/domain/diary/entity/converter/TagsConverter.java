@@ -10,6 +10,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * diaries.tags JSON 컬럼 호환용 컨버터
+ * 태그 검색은 diary_tags 색인을 사용하며, 이 컬럼은 기존 데이터 읽기와 색인 백필에만 쓰입니다.
+ */
 @Slf4j
 @Converter
 public class TagsConverter implements AttributeConverter<List<String>, String> {
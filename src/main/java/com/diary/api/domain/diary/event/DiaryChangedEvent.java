@@ -0,0 +1,49 @@
+package com.diary.api.domain.diary.event;
+
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.EmotionVector;
+
+/**
+ * 일기 변경 이벤트
+ * 커밋 이후 메모리 색인/캐시 갱신에 사용하므로 엔티티 대신 필요한 값만 복사해 둡니다.
+ * 본문/요약은 지연 로딩되므로 검색 대상 텍스트가 바뀐 경우(contentChanged)에만 싣습니다.
+ */
+public record DiaryChangedEvent(
+        Type type,
+        Long diaryId,
+        Long userId,
+        boolean isPublic,
+        String primaryEmotion,
+        EmotionVector emotionVector,
+        boolean contentChanged,
+        String content,
+        String summary) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    /**
+     * 생성 이벤트는 본문을 싣고, 수정/삭제 이벤트는 본문이 바뀌지 않은 것으로 보고 싣지 않습니다.
+     */
+    public static DiaryChangedEvent of(Type type, Diary diary) {
+        return of(type, diary, type == Type.CREATED);
+    }
+
+    /**
+     * contentChanged 가 true 일 때만 본문과 요약을 읽어 싣습니다. 삭제 이벤트에는 싣지 않습니다.
+     */
+    public static DiaryChangedEvent of(Type type, Diary diary, boolean contentChanged) {
+        boolean withText = contentChanged && type != Type.DELETED;
+        return new DiaryChangedEvent(
+                type,
+                diary.getId(),
+                diary.getUser() != null ? diary.getUser().getId() : null,
+                Boolean.TRUE.equals(diary.getIsPublic()),
+                diary.getPrimaryEmotion(),
+                diary.getEmotionVector(),
+                withText,
+                withText ? diary.getContent() : null,
+                withText ? diary.getSummary() : null);
+    }
+}
@@ -0,0 +1,265 @@
+package com.diary.api.domain.diary.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * n-gram 역색인 기반 전문 검색 색인
+ * 일기마다 내부 문서 번호를 새로 부여해 포스팅을 항상 오름차순으로 덧붙이고,
+ * 수정/삭제된 이전 번호는 툼스톤으로 남겼다가 살아 있는 문서보다 많아지면 번호를 다시 매겨 압축합니다.
+ * 검색은 검색어의 모든 n-gram 을 포함한 문서만 대상으로 BM25 점수를 매깁니다.
+ */
+public class FullTextIndex {
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_COMPACT_TOMBSTONES = 1024;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByDiaryId = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 내부 문서 번호 -> 문서 정보, 0번은 사용하지 않음. 삭제된 번호는 null
+    private Doc[] docs = new Doc[1024];
+    private int nextDoc = 1;
+    private int tombstones;
+    private long totalLength;
+
+    public record Result(long diaryId, float score) {
+    }
+
+    private record Doc(long diaryId, long userId, boolean isPublic, int length) {
+    }
+
+    private static final Comparator<Result> LOWEST_FIRST = Comparator.comparingDouble(Result::score)
+            .thenComparingLong(Result::diaryId);
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByDiaryId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 일기 본문을 색인하거나 다시 색인합니다.
+     * 본문이 그대로인 수정은 호출하는 쪽에서 updateVisibility 로 처리합니다.
+     */
+    public void upsert(long diaryId, long userId, boolean isPublic, String text) {
+        List<String> grams = NgramTokenizer.tokenize(text);
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String gram : grams) {
+            frequencies.merge(gram, 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(diaryId);
+            if (frequencies.isEmpty()) {
+                return;
+            }
+
+            int doc = nextDoc++;
+            if (doc >= docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+            }
+            docs[doc] = new Doc(diaryId, userId, isPublic, grams.size());
+            docByDiaryId.put(diaryId, doc);
+            totalLength += grams.size();
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new PostingList()).add(doc, entry.getValue());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 공개 여부만 바뀐 경우 포스팅은 그대로 두고 문서 정보만 교체합니다.
+     * 색인에 없는 일기이면 false 를 반환합니다.
+     */
+    public boolean updateVisibility(long diaryId, boolean isPublic) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByDiaryId.get(diaryId);
+            if (doc == null) {
+                return false;
+            }
+            Doc current = docs[doc];
+            if (current.isPublic() != isPublic) {
+                docs[doc] = new Doc(current.diaryId(), current.userId(), isPublic, current.length());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long diaryId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(diaryId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * viewerId 의 일기와 공개 일기 중 검색어와 일치하는 상위 limit 개를 점수 내림차순으로 반환합니다.
+     */
+    public List<Result> search(String query, long viewerId, int limit) {
+        Map<String, Integer> queryGrams = new LinkedHashMap<>();
+        for (String gram : NgramTokenizer.tokenize(query)) {
+            queryGrams.merge(gram, 1, Integer::sum);
+        }
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docByDiaryId.size();
+            if (liveDocs == 0) {
+                return List.of();
+            }
+
+            List<PostingList> lists = new ArrayList<>(queryGrams.size());
+            for (String gram : queryGrams.keySet()) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 포스팅부터 교집합을 좁혀 나감
+            lists.sort(Comparator.comparingInt(PostingList::docCount));
+
+            float averageLength = (float) totalLength / liveDocs;
+            int[] candidates = null;
+            float[] scores = null;
+            int count = 0;
+
+            for (PostingList list : lists) {
+                // 포스팅에는 아직 걷어내지 않은 툼스톤이 섞여 있으므로 문서 수로 상한을 둠
+                int df = Math.min(list.docCount(), liveDocs);
+                float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+                PostingList.Reader reader = list.reader();
+
+                if (candidates == null) {
+                    candidates = new int[list.docCount()];
+                    scores = new float[list.docCount()];
+                    while (reader.next()) {
+                        Doc doc = docs[reader.doc()];
+                        if (doc == null || (!doc.isPublic() && doc.userId() != viewerId)) {
+                            continue;
+                        }
+                        candidates[count] = reader.doc();
+                        scores[count] = idf * termWeight(reader.freq(), doc.length(), averageLength);
+                        count++;
+                    }
+                } else {
+                    int kept = 0;
+                    int i = 0;
+                    boolean hasMore = reader.next();
+                    while (i < count && hasMore) {
+                        if (reader.doc() < candidates[i]) {
+                            hasMore = reader.next();
+                        } else if (reader.doc() > candidates[i]) {
+                            i++;
+                        } else {
+                            Doc doc = docs[candidates[i]];
+                            candidates[kept] = candidates[i];
+                            scores[kept] = scores[i] + idf * termWeight(reader.freq(), doc.length(), averageLength);
+                            kept++;
+                            i++;
+                            hasMore = reader.next();
+                        }
+                    }
+                    count = kept;
+                }
+                if (count == 0) {
+                    return List.of();
+                }
+            }
+
+            PriorityQueue<Result> top = new PriorityQueue<>(LOWEST_FIRST);
+            for (int i = 0; i < count; i++) {
+                Result result = new Result(docs[candidates[i]].diaryId(), scores[i]);
+                if (top.size() < limit) {
+                    top.add(result);
+                } else if (LOWEST_FIRST.compare(result, top.peek()) > 0) {
+                    top.poll();
+                    top.add(result);
+                }
+            }
+
+            List<Result> results = new ArrayList<>(top);
+            results.sort(LOWEST_FIRST.reversed());
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float termWeight(int freq, int length, float averageLength) {
+        return freq * (K1 + 1) / (freq + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void removeLocked(long diaryId) {
+        Integer doc = docByDiaryId.remove(diaryId);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= docs[doc].length();
+        docs[doc] = null;
+        tombstones++;
+    }
+
+    // 툼스톤이 살아 있는 문서보다 많아지면 문서 번호를 다시 매기고 포스팅에서 삭제분을 걷어냅니다.
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACT_TOMBSTONES || tombstones <= docByDiaryId.size()) {
+            return;
+        }
+
+        int[] remap = new int[nextDoc];
+        Doc[] compacted = new Doc[Math.max(docByDiaryId.size() * 2, 1024)];
+        int next = 1;
+        for (int doc = 1; doc < nextDoc; doc++) {
+            if (docs[doc] != null) {
+                remap[doc] = next;
+                compacted[next] = docs[doc];
+                docByDiaryId.put(docs[doc].diaryId(), next);
+                next++;
+            }
+        }
+
+        postings.replaceAll((gram, list) -> {
+            PostingList rewritten = new PostingList();
+            PostingList.Reader reader = list.reader();
+            while (reader.next()) {
+                int mapped = remap[reader.doc()];
+                if (mapped != 0) {
+                    rewritten.add(mapped, reader.freq());
+                }
+            }
+            rewritten.trim();
+            return rewritten;
+        });
+        postings.values().removeIf(list -> list.docCount() == 0);
+
+        docs = compacted;
+        nextDoc = next;
+        tombstones = 0;
+    }
+}
@@ -0,0 +1,323 @@
+package com.diary.api.domain.diary.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 코사인 유사도 기반 HNSW(Hierarchical Navigable Small World) 근사 최근접 이웃 색인
+ * 벡터는 삽입 시 정규화하므로 거리 계산은 내적 한 번으로 끝납니다.
+ * 삭제는 툼스톤으로 처리하고, 툼스톤이 살아 있는 노드 수를 넘으면 그래프를 다시 만듭니다.
+ */
+public class HnswIndex {
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node entryPoint;
+    private int tombstones;
+
+    public HnswIndex(int m, int efConstruction) {
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    public record Result(long id, float similarity) {
+    }
+
+    private static final class Node {
+        final long id;
+        final float[] vector;
+        final List<List<Node>> neighbors;
+        boolean deleted;
+
+        Node(long id, float[] vector, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.neighbors = new ArrayList<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                neighbors.add(new ArrayList<>());
+            }
+        }
+
+        int level() {
+            return neighbors.size() - 1;
+        }
+    }
+
+    private record Candidate(Node node, float distance) {
+    }
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator.comparingDouble(Candidate::distance);
+    private static final Comparator<Candidate> FURTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return nodes.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 벡터를 추가하거나 교체합니다. 크기가 0인 벡터는 색인하지 않습니다.
+     */
+    public void upsert(long id, float[] vector) {
+        float[] normalized = VectorMath.normalize(vector);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (normalized != null) {
+                insertLocked(id, normalized);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * query 와 가장 가까운 k 개를 유사도 내림차순으로 반환합니다.
+     */
+    public List<Result> search(float[] query, int k, int ef, long excludeId) {
+        float[] normalized = VectorMath.normalize(query);
+        if (normalized == null) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint == null || nodes.isEmpty()) {
+                return List.of();
+            }
+
+            Node current = greedyDescend(normalized, entryPoint, 1);
+            // 자기 자신을 제외하므로 한 개 더 탐색
+            PriorityQueue<Candidate> found = searchLayer(normalized, current, Math.max(ef, k + 1), 0);
+
+            List<Candidate> sorted = new ArrayList<>(found);
+            sorted.sort(NEAREST_FIRST);
+            List<Result> results = new ArrayList<>(k);
+            for (Candidate candidate : sorted) {
+                if (candidate.node().id == excludeId) {
+                    continue;
+                }
+                results.add(new Result(candidate.node().id, 1f - candidate.distance()));
+                if (results.size() == k) {
+                    break;
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insertLocked(long id, float[] vector) {
+        int level = randomLevel();
+        Node node = new Node(id, vector, level);
+        nodes.put(id, node);
+
+        if (entryPoint == null) {
+            entryPoint = node;
+            return;
+        }
+
+        Node current = entryPoint;
+        int topLevel = entryPoint.level();
+        if (topLevel > level) {
+            current = greedyDescend(vector, current, level + 1);
+        }
+
+        for (int lc = Math.min(level, topLevel); lc >= 0; lc--) {
+            PriorityQueue<Candidate> candidates = searchLayer(vector, current, efConstruction, lc);
+            List<Candidate> nearest = new ArrayList<>(candidates);
+            nearest.sort(NEAREST_FIRST);
+
+            int maxConnections = lc == 0 ? maxM0 : m;
+            List<Node> links = node.neighbors.get(lc);
+            for (int i = 0; i < nearest.size() && links.size() < m; i++) {
+                links.add(nearest.get(i).node());
+            }
+            for (Node neighbor : links) {
+                List<Node> back = neighbor.neighbors.get(lc);
+                back.add(node);
+                if (back.size() > maxConnections) {
+                    shrink(neighbor, back, maxConnections);
+                }
+            }
+            if (!nearest.isEmpty()) {
+                current = nearest.get(0).node();
+            }
+        }
+
+        if (level > topLevel || entryPoint.deleted) {
+            entryPoint = node;
+        }
+    }
+
+    private void removeLocked(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return;
+        }
+        node.deleted = true;
+        tombstones++;
+
+        if (nodes.isEmpty()) {
+            entryPoint = null;
+            tombstones = 0;
+        } else if (node == entryPoint) {
+            entryPoint = highestLiveNode();
+        }
+    }
+
+    // 최상위 층부터 ef=1 탐색으로 targetLevel 까지 내려옵니다.
+    private Node greedyDescend(float[] query, Node start, int targetLevel) {
+        Node current = start;
+        float currentDistance = distance(query, current);
+        for (int lc = current.level(); lc >= targetLevel; lc--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Node neighbor : current.neighbors.get(lc)) {
+                    float d = distance(query, neighbor);
+                    if (d < currentDistance) {
+                        currentDistance = d;
+                        current = neighbor;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    // 한 층에서 ef 개의 가까운 살아 있는 노드를 찾습니다. 툼스톤은 경로로만 사용합니다.
+    private PriorityQueue<Candidate> searchLayer(float[] query, Node start, int ef, int level) {
+        Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+
+        Candidate first = new Candidate(start, distance(query, start));
+        visited.add(start);
+        candidates.add(first);
+        if (!start.deleted) {
+            results.add(first);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.distance() > results.peek().distance()) {
+                break;
+            }
+            if (closest.node().level() < level) {
+                continue;
+            }
+            for (Node neighbor : closest.node().neighbors.get(level)) {
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+                float d = distance(query, neighbor);
+                if (results.size() < ef || d < results.peek().distance()) {
+                    Candidate candidate = new Candidate(neighbor, d);
+                    candidates.add(candidate);
+                    if (!neighbor.deleted) {
+                        results.add(candidate);
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // 이웃 수가 한도를 넘으면 가까운 순으로 잘라냅니다. 툼스톤 이웃은 먼저 버립니다.
+    private void shrink(Node owner, List<Node> links, int maxConnections) {
+        List<Candidate> scored = new ArrayList<>(links.size());
+        for (Node link : links) {
+            if (!link.deleted) {
+                scored.add(new Candidate(link, distance(owner.vector, link)));
+            }
+        }
+        scored.sort(NEAREST_FIRST);
+        links.clear();
+        for (int i = 0; i < scored.size() && i < maxConnections; i++) {
+            links.add(scored.get(i).node());
+        }
+    }
+
+    private Node highestLiveNode() {
+        Node best = null;
+        for (Node candidate : nodes.values()) {
+            if (best == null || candidate.level() > best.level()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // 툼스톤이 살아 있는 노드보다 많아지면 살아 있는 노드만으로 그래프를 다시 구성합니다.
+    private void compactIfNeeded() {
+        if (tombstones <= nodes.size()) {
+            return;
+        }
+        List<Node> live = new ArrayList<>(nodes.values());
+        nodes.clear();
+        entryPoint = null;
+        tombstones = 0;
+        for (Node node : live) {
+            insertLocked(node.id, node.vector);
+        }
+    }
+
+    private int randomLevel() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return (int) (-Math.log(1.0 - r) * levelMultiplier);
+    }
+
+    private static float distance(float[] query, Node node) {
+        return 1f - VectorMath.dot(query, node.vector);
+    }
+
+    private static float distance(float[] a, float[] b) {
+        return 1f - VectorMath.dot(a, b);
+    }
+}
@@ -0,0 +1,48 @@
+package com.diary.api.domain.diary.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 한국어 본문용 바이그램 토크나이저
+ * 형태소 분석 없이도 조사/어미가 붙은 어절에서 부분 일치를 찾을 수 있도록
+ * 글자/숫자 연속 구간마다 두 글자씩 겹쳐 자릅니다. ("행복했다" -> 행복, 복했, 했다)
+ * 한 글자짜리 구간은 색인하지 않습니다.
+ */
+public final class NgramTokenizer {
+    public static final int GRAM_SIZE = 2;
+
+    private NgramTokenizer() {
+    }
+
+    /**
+     * 중복을 포함한 n-gram 목록을 반환합니다. (빈도 계산용)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return grams;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int runStart = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                continue;
+            }
+            if (runStart >= 0) {
+                for (int j = runStart; j + GRAM_SIZE <= i; j++) {
+                    grams.add(normalized.substring(j, j + GRAM_SIZE));
+                }
+                runStart = -1;
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,99 @@
+package com.diary.api.domain.diary.index;
+
+import java.util.Arrays;
+
+/**
+ * 압축 포스팅 리스트
+ * 문서 번호는 오름차순으로만 추가되므로 이전 번호와의 차이(delta)와 빈도를
+ * 가변 길이 정수(varint)로 이어 붙여 저장합니다. 대부분 항목이 2~3바이트에 들어갑니다.
+ */
+final class PostingList {
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDoc;
+    private int docCount;
+
+    int docCount() {
+        return docCount;
+    }
+
+    int bytes() {
+        return length;
+    }
+
+    /**
+     * doc 은 1 이상이고 직전에 추가한 번호보다 커야 합니다.
+     */
+    void add(int doc, int freq) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("문서 번호는 오름차순이어야 합니다: " + doc);
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(freq);
+        lastDoc = doc;
+        docCount++;
+    }
+
+    Reader reader() {
+        return new Reader();
+    }
+
+    void trim() {
+        if (data.length > length) {
+            data = Arrays.copyOf(data, Math.max(length, 1));
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * 순방향 디코더. next() 가 false 를 반환하면 끝입니다.
+     */
+    final class Reader {
+        private int position;
+        private int doc;
+        private int freq;
+
+        boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            doc += readVarint();
+            freq = readVarint();
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        private int readVarint() {
+            int result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.diary.api.domain.diary.index;
+
+/**
+ * 감정 벡터 거리 계산 커널
+ * 10차원 벡터는 SIMD 레인 하나를 겨우 채우는 크기라 Vector API 대신
+ * JIT 자동 벡터화가 잘 되는 단순 루프로 구현합니다.
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    public static float dot(float[] a, float[] b) {
+        int n = Math.min(a.length, b.length);
+        float s0 = 0f;
+        float s1 = 0f;
+        int i = 0;
+        for (; i + 1 < n; i += 2) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+        }
+        if (i < n) {
+            s0 += a[i] * b[i];
+        }
+        return s0 + s1;
+    }
+
+    /**
+     * 단위 벡터 사본을 반환합니다. 크기가 0이면 null.
+     */
+    public static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        if (norm == 0f || Float.isNaN(norm)) {
+            return null;
+        }
+        float[] result = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] / norm;
+        }
+        return result;
+    }
+}
@@ -1,16 +1,23 @@
 package com.diary.api.domain.diary.repository;
 
+import com.diary.api.common.VersionStamp;
+import com.diary.api.domain.diary.dto.CalendarBucket;
+import com.diary.api.domain.diary.dto.DiaryDetailView;
+import com.diary.api.domain.diary.dto.DiaryListView;
 import com.diary.api.domain.diary.entity.Diary;
 import com.diary.api.domain.user.entity.User;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
@@ -18,16 +25,90 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
         @Query("SELECT d FROM Diary d WHERE d.user = :user ORDER BY d.createdAt DESC")
         List<Diary> findByUser(@Param("user") User user);
 
-        // 공개된 일기 중 감정별 조회
-        List<Diary> findByPrimaryEmotionAndIsPublicTrue(String emotion);
+        // 목록 프로젝션 SELECT 절 (본문 대신 미리보기, 작성자 이메일 조인)
+        String LIST_VIEW = "SELECT new com.diary.api.domain.diary.dto.DiaryListView(" +
+                        "d.id, d.preview, d.isPublic, d.tags, d.primaryEmotion, d.analysisStatus, " +
+                        "d.createdAt, d.updatedAt, d.imageUrl, u.id, u.email) " +
+                        "FROM Diary d JOIN d.user u ";
 
-        // 공개된 일기 중 태그로 조회
-        @Query(value = "SELECT * FROM diary d WHERE d.is_public = true AND JSON_CONTAINS(d.tags, :tag)", nativeQuery = true)
-        List<Diary> findByTagsContainingAndIsPublicTrue(@Param("tag") String tag);
+        // 사용자의 전체 일기 목록 프로젝션 조회
+        @Query(LIST_VIEW + "WHERE u.id = :userId ORDER BY d.createdAt DESC, d.id DESC")
+        List<DiaryListView> findListViewsByUserId(@Param("userId") Long userId);
 
-        // 공개된 일기 중 여러 태그로 조회
-        @Query(value = "SELECT * FROM diary d WHERE d.is_public = true AND d.tags IN :tags", nativeQuery = true)
-        List<Diary> findByTagsInAndIsPublicTrue(@Param("tags") List<String> tags);
+        // 사용자의 일기 첫 페이지 조회 (createdAt, id 내림차순)
+        @Query(LIST_VIEW + "WHERE u.id = :userId ORDER BY d.createdAt DESC, d.id DESC")
+        List<DiaryListView> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+        // 커서 이후 페이지 조회 (idx_diaries_user_created_id 키셋 탐색)
+        @Query(LIST_VIEW + "WHERE u.id = :userId " +
+                        "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+                        "ORDER BY d.createdAt DESC, d.id DESC")
+        List<DiaryListView> findPageByUserIdAfter(
+                        @Param("userId") Long userId,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        // 사용자 일기 목록 버전 (건수, 분석 중 건수, 최종 수정 시각)
+        // 분석 워커의 일괄 상태 변경은 updatedAt 을 바꾸지 않으므로 분석 중 건수를 함께 봄
+        @Query("SELECT new com.diary.api.common.VersionStamp(COUNT(d), " +
+                        "SUM(CASE WHEN d.analysisStatus = 'processing' THEN 1 ELSE 0 END), MAX(d.updatedAt)) " +
+                        "FROM Diary d WHERE d.user.id = :userId")
+        VersionStamp findVersionByUserId(@Param("userId") Long userId);
+
+        // 커뮤니티 활성 멤버 공개 일기 버전 (건수, 최대 ID, 최종 수정 시각)
+        @Query("SELECT new com.diary.api.common.VersionStamp(COUNT(d), MAX(d.id), MAX(d.updatedAt)) " +
+                        "FROM Diary d WHERE d.isPublic = true AND d.user.id IN (" +
+                        "SELECT m.userId FROM CommunityMember m WHERE m.communityId = :communityId AND m.isActive = true)")
+        VersionStamp findPublicVersionByCommunityId(@Param("communityId") Long communityId);
+
+        // 캘린더 집계: 기간 내 날짜 x 대표 감정별 건수와 강도 합계 (idx_diaries_user_created_id 범위 탐색)
+        @Query("SELECT new com.diary.api.domain.diary.dto.CalendarBucket(" +
+                        "CAST(d.createdAt AS LocalDate), d.primaryEmotion, COUNT(d), " +
+                        "SUM(d.emotionIntensity), COUNT(d.emotionIntensity)) " +
+                        "FROM Diary d WHERE d.user.id = :userId AND d.createdAt >= :from AND d.createdAt < :to " +
+                        "GROUP BY CAST(d.createdAt AS LocalDate), d.primaryEmotion")
+        List<CalendarBucket> findCalendarBuckets(
+                        @Param("userId") Long userId,
+                        @Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to);
+
+        // 일기 상세 프로젝션 조회
+        @Query("SELECT new com.diary.api.domain.diary.dto.DiaryDetailView(" +
+                        "d.id, d.content, d.isPublic, d.summary, d.feedback, d.tags, d.primaryEmotion, d.analysisStatus, " +
+                        "d.createdAt, d.updatedAt, d.imageUrl, u.id, u.email) " +
+                        "FROM Diary d JOIN d.user u WHERE d.id = :id")
+        Optional<DiaryDetailView> findDetailViewById(@Param("id") Long id);
+
+        // 분석용 본문만 조회
+        @Query("SELECT d.content FROM Diary d WHERE d.id = :id")
+        Optional<String> findContentById(@Param("id") Long id);
+
+        // 검색 색인용 본문/요약만 조회 ([content, summary], 없으면 빈 목록)
+        @Query("SELECT d.content, d.summary FROM Diary d WHERE d.id = :id")
+        List<Object[]> findSearchTextById(@Param("id") Long id);
+
+        // 감정별 공개 일기 피드 첫 페이지 (idx_diaries_emotion_public_created_id)
+        @Query(LIST_VIEW + "WHERE d.primaryEmotion = :emotion AND d.isPublic = true " +
+                        "ORDER BY d.createdAt DESC, d.id DESC")
+        List<DiaryListView> findPublicFeedFirstPage(@Param("emotion") String emotion, Pageable pageable);
+
+        // 감정별 공개 일기 피드 커서 이후 페이지
+        @Query(LIST_VIEW + "WHERE d.primaryEmotion = :emotion AND d.isPublic = true " +
+                        "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id)) " +
+                        "ORDER BY d.createdAt DESC, d.id DESC")
+        List<DiaryListView> findPublicFeedPageAfter(
+                        @Param("emotion") String emotion,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        // 태그 색인 등에서 찾은 일기 ID 목록의 프로젝션 조회
+        @Query(LIST_VIEW + "WHERE d.id IN :ids")
+        List<DiaryListView> findListViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+        // ID 순 청크 조회 (색인 백필용)
+        List<Diary> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
         // 사용자의 일기 중 특정 기간 조회
         @Query("SELECT d FROM Diary d WHERE d.user = :user AND d.createdAt BETWEEN :start AND :end ORDER BY d.createdAt DESC")
@@ -40,6 +121,49 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
         @Query("SELECT d FROM Diary d WHERE d.analysisStatus = 'pending' ORDER BY d.createdAt ASC")
         List<Diary> findPendingAnalysisDiaries();
 
+        // 분석 대기 일기를 잠그고 가져옴 (다른 워커가 잠근 행은 건너뜀)
+        @Query(value = "SELECT id, user_id FROM diaries WHERE analysis_status = 'pending' AND deleted_at IS NULL " +
+                        "ORDER BY created_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+        List<Object[]> lockPendingForAnalysis(@Param("limit") int limit);
+
+        // 삭제 표시된 일기를 잠그고 가져옴 (id, user_id, created_at, primary_emotion, emotion_vector_bin)
+        @Query(value = "SELECT id, user_id, created_at, primary_emotion, emotion_vector_bin FROM diaries " +
+                        "WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                        nativeQuery = true)
+        List<Object[]> lockDeletedForPurge(@Param("limit") int limit);
+
+        @Modifying
+        @Query(value = "DELETE FROM diaries WHERE id IN (:ids) AND deleted_at IS NOT NULL", nativeQuery = true)
+        int purgeDeleted(@Param("ids") Collection<Long> ids);
+
+        @Query(value = "SELECT MAX(id) FROM diaries", nativeQuery = true)
+        Long findMaxId();
+
+        // 감정 통계 백필용 (id, user_id, created_at, primary_emotion, emotion_vector_bin)
+        // 정리 작업이 삭제 표시된 일기의 기여분을 빼므로 아직 정리되지 않은 일기도 포함
+        @Query(value = "SELECT id, user_id, created_at, primary_emotion, emotion_vector_bin FROM diaries " +
+                        "WHERE id > :afterId AND id <= :maxId ORDER BY id LIMIT :limit", nativeQuery = true)
+        List<Object[]> findEmotionRowsForBackfill(@Param("afterId") long afterId, @Param("maxId") long maxId,
+                        @Param("limit") int limit);
+
+        @Query(value = "SELECT COUNT(*) FROM diaries WHERE deleted_at IS NOT NULL", nativeQuery = true)
+        long countDeleted();
+
+        @Modifying
+        @Query("UPDATE Diary d SET d.analysisStatus = 'processing', d.analysisClaimedAt = :claimedAt " +
+                        "WHERE d.id IN :ids")
+        int markAnalysisProcessing(@Param("ids") Collection<Long> ids,
+                        @Param("claimedAt") LocalDateTime claimedAt);
+
+        // 임대 시간이 지나도록 처리 중인 일기(처리 중에 종료된 인스턴스의 몫)를 다시 대기 상태로
+        @Modifying
+        @Query("UPDATE Diary d SET d.analysisStatus = 'pending', d.analysisClaimedAt = null " +
+                        "WHERE d.analysisStatus = 'processing' " +
+                        "AND (d.analysisClaimedAt IS NULL OR d.analysisClaimedAt < :claimedBefore)")
+        int resetExpiredAnalysisClaims(@Param("claimedBefore") LocalDateTime claimedBefore);
+
+        long countByAnalysisStatus(String status);
+
         // 분석 상태별 일기 조회
         List<Diary> findByAnalysisStatus(String status);
 
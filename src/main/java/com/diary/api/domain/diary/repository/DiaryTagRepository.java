@@ -0,0 +1,57 @@
+package com.diary.api.domain.diary.repository;
+
+import com.diary.api.domain.diary.entity.DiaryTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DiaryTagRepository extends JpaRepository<DiaryTag, Long> {
+
+        // 일기의 태그 색인 전체 삭제
+        @Modifying
+        @Query("DELETE FROM DiaryTag t WHERE t.diaryId = :diaryId")
+        int deleteByDiaryId(@Param("diaryId") Long diaryId);
+
+        // 여러 일기의 태그 색인 일괄 삭제
+        @Modifying
+        @Query("DELETE FROM DiaryTag t WHERE t.diaryId IN :diaryIds")
+        int deleteByDiaryIdIn(@Param("diaryIds") Collection<Long> diaryIds);
+
+        // 일기 공개 여부 변경 반영
+        @Modifying
+        @Query("UPDATE DiaryTag t SET t.isPublic = :isPublic WHERE t.diaryId = :diaryId")
+        int updateVisibility(@Param("diaryId") Long diaryId, @Param("isPublic") Boolean isPublic);
+
+        // 태그 중 minMatches 개 이상 일치하는 공개 일기 ID 첫 페이지 (any: 1, all: 태그 수)
+        @Query("SELECT t.diaryId FROM DiaryTag t " +
+                        "WHERE t.tag IN :tags AND t.isPublic = true " +
+                        "GROUP BY t.diaryId, t.createdAt " +
+                        "HAVING COUNT(t.id) >= :minMatches " +
+                        "ORDER BY t.createdAt DESC, t.diaryId DESC")
+        List<Long> findPublicDiaryIds(
+                        @Param("tags") List<String> tags,
+                        @Param("minMatches") long minMatches,
+                        Pageable pageable);
+
+        // 커서 이후 페이지
+        @Query("SELECT t.diaryId FROM DiaryTag t " +
+                        "WHERE t.tag IN :tags AND t.isPublic = true " +
+                        "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.diaryId < :id)) " +
+                        "GROUP BY t.diaryId, t.createdAt " +
+                        "HAVING COUNT(t.id) >= :minMatches " +
+                        "ORDER BY t.createdAt DESC, t.diaryId DESC")
+        List<Long> findPublicDiaryIdsAfter(
+                        @Param("tags") List<String> tags,
+                        @Param("minMatches") long minMatches,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+}
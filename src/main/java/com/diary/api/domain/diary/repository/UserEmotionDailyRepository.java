@@ -0,0 +1,32 @@
+package com.diary.api.domain.diary.repository;
+
+import com.diary.api.domain.diary.entity.UserEmotionDaily;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserEmotionDailyRepository extends JpaRepository<UserEmotionDaily, Long> {
+
+        // 집계 행이 없으면 빈 행 생성 (동시 생성 시 유니크 키 충돌은 무시)
+        @Modifying
+        @Query(value = "INSERT IGNORE INTO user_emotion_daily (user_id, stat_date, diary_count, vector_count, emotion_counts) " +
+                        "VALUES (:userId, :statDate, 0, 0, '{}')", nativeQuery = true)
+        int insertIfAbsent(@Param("userId") Long userId, @Param("statDate") LocalDate statDate);
+
+        // 갱신용 행 잠금 조회
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT d FROM UserEmotionDaily d WHERE d.userId = :userId AND d.statDate = :statDate")
+        Optional<UserEmotionDaily> findForUpdate(@Param("userId") Long userId, @Param("statDate") LocalDate statDate);
+
+        // 기간 집계 조회 (최대 기간 일수만큼의 행)
+        List<UserEmotionDaily> findByUserIdAndStatDateBetweenOrderByStatDateAsc(Long userId, LocalDate from, LocalDate to);
+}
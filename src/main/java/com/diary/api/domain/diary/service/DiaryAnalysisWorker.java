@@ -0,0 +1,251 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.exception.ServiceUnavailableException;
+import com.diary.api.domain.diary.config.DiaryAnalysisProperties;
+import com.diary.api.domain.diary.dto.DiaryAnalysisResult;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 분석 대기(pending) 일기를 주기적으로 가져와 비동기로 분석합니다.
+ * 여러 인스턴스가 떠 있어도 FOR UPDATE SKIP LOCKED 로 같은 일기를 중복 처리하지 않고,
+ * 사용자별 동시 처리 수를 제한해 한 사용자가 대기열을 독점하지 못하게 합니다.
+ * 가져간 일기에는 처리 시작 시각을 남기고, 임대 시간이 지난 것만 멈춘 작업으로 보고 되돌리므로
+ * 재시작이나 증설 중에도 다른 인스턴스가 처리 중인 일기를 다시 분석하지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryAnalysisWorker {
+    // 사용자별 제한으로 걸러질 몫까지 넉넉히 잠금
+    private static final int CLAIM_OVERSCAN = 4;
+
+    private final DiaryRepository diaryRepository;
+    private final DiaryService diaryService;
+    private final DiaryAnalyzer diaryAnalyzer;
+    private final DiaryAnalysisProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lastRecoveryMillis = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Long, AtomicInteger> inFlightByUser = new ConcurrentHashMap<>();
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+
+    private ExecutorService executor;
+    private Timer completedTimer;
+    private Timer failedTimer;
+
+    private record Claim(Long diaryId, Long userId) {
+    }
+
+    @PostConstruct
+    void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getWorkerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "diary-analysis-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("diary.analysis.queue.depth", queueDepth, AtomicLong::get)
+                .description("분석 대기 중인 일기 수")
+                .register(meterRegistry);
+        Gauge.builder("diary.analysis.in_flight", inFlight, AtomicInteger::get)
+                .description("분석 처리 중인 일기 수")
+                .register(meterRegistry);
+        completedTimer = Timer.builder("diary.analysis.latency")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        failedTimer = Timer.builder("diary.analysis.latency")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 임대 시간이 지난 처리 중 일기를 대기 상태로 되돌린 뒤 폴링을 시작합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverStale() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        recoverExpiredClaims();
+        ready.set(true);
+    }
+
+    // 처리 중에 종료된 인스턴스의 몫은 임대 시간이 지난 뒤에야 되돌림
+    private void recoverExpiredClaims() {
+        lastRecoveryMillis.set(System.currentTimeMillis());
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(Duration.ofMillis(properties.getClaimLeaseMs()));
+        Integer reset = transactionTemplate.execute(status ->
+                diaryRepository.resetExpiredAnalysisClaims(claimedBefore));
+        if (reset != null && reset > 0) {
+            log.info("임대 시간이 지난 처리 중 일기 {}건을 분석 대기 상태로 되돌렸습니다.", reset);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${diary.analysis.poll-interval-ms:5000}")
+    public void poll() {
+        if (!properties.isEnabled() || !ready.get()) {
+            return;
+        }
+
+        try {
+            // 살아 있는 인스턴스도 다른 인스턴스가 남긴 몫을 주기적으로 회수
+            if (System.currentTimeMillis() - lastRecoveryMillis.get() >= properties.getClaimLeaseMs()) {
+                recoverExpiredClaims();
+            }
+            queueDepth.set(diaryRepository.countByAnalysisStatus("pending"));
+
+            int capacity = Math.min(properties.getBatchSize(), properties.getMaxInFlight() - inFlight.get());
+            if (capacity <= 0) {
+                return;
+            }
+
+            List<Claim> claims = claim(capacity);
+            for (Claim claim : claims) {
+                submit(claim);
+            }
+        } catch (Exception e) {
+            log.error("분석 대기열 폴링 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // 대기 일기를 잠그고 사용자별로 번갈아 골라 processing 으로 표시합니다.
+    private List<Claim> claim(int capacity) {
+        List<Claim> claimed = transactionTemplate.execute(status -> {
+            List<Object[]> rows = diaryRepository.lockPendingForAnalysis(capacity * CLAIM_OVERSCAN);
+
+            Map<Long, Deque<Long>> byUser = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                Long diaryId = ((Number) row[0]).longValue();
+                Long userId = ((Number) row[1]).longValue();
+                byUser.computeIfAbsent(userId, key -> new ArrayDeque<>()).add(diaryId);
+            }
+
+            Map<Long, Integer> reserved = new LinkedHashMap<>();
+            List<Claim> selected = new ArrayList<>(capacity);
+            boolean progressed = true;
+            while (selected.size() < capacity && progressed) {
+                progressed = false;
+                for (Map.Entry<Long, Deque<Long>> entry : byUser.entrySet()) {
+                    if (selected.size() >= capacity) {
+                        break;
+                    }
+                    Long userId = entry.getKey();
+                    int running = inFlightByUser.getOrDefault(userId, new AtomicInteger()).get()
+                            + reserved.getOrDefault(userId, 0);
+                    if (entry.getValue().isEmpty() || running >= properties.getMaxInFlightPerUser()) {
+                        continue;
+                    }
+                    selected.add(new Claim(entry.getValue().poll(), userId));
+                    reserved.merge(userId, 1, Integer::sum);
+                    progressed = true;
+                }
+            }
+
+            if (!selected.isEmpty()) {
+                diaryRepository.markAnalysisProcessing(selected.stream().map(Claim::diaryId).toList(),
+                        LocalDateTime.now());
+            }
+            return selected;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void submit(Claim claim) {
+        inFlight.incrementAndGet();
+        inFlightByUser.computeIfAbsent(claim.userId(), key -> new AtomicInteger()).incrementAndGet();
+        try {
+            executor.execute(() -> process(claim));
+        } catch (RejectedExecutionException e) {
+            release(claim);
+            diaryService.failAnalysis(claim.diaryId());
+        }
+    }
+
+    private void process(Claim claim) {
+        long started = System.nanoTime();
+        try {
+            String content = diaryRepository.findContentById(claim.diaryId()).orElse(null);
+            if (content == null || content.isBlank()) {
+                diaryService.failAnalysis(claim.diaryId());
+                failedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return;
+            }
+
+            // 외부 API 호출 동안에는 트랜잭션과 DB 커넥션을 잡지 않음
+            DiaryAnalysisResult result = diaryAnalyzer.analyze(content);
+            diaryService.completeAnalysis(claim.diaryId(), result);
+            completedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (ServiceUnavailableException e) {
+            // 일시적인 혼잡/차단이므로 실패로 남기지 않고 다음 폴링 때 다시 시도
+            log.warn("AI 서비스 사용 불가로 분석 보류: 일기 ID {}", claim.diaryId());
+            try {
+                diaryService.requeueAnalysis(claim.diaryId());
+            } catch (Exception ex) {
+                log.error("분석 대기 상태 복구 실패: 일기 ID {}", claim.diaryId(), ex);
+            }
+        } catch (Exception e) {
+            log.error("일기 분석 실패: 일기 ID {}, {}", claim.diaryId(), e.getMessage(), e);
+            failedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            try {
+                diaryService.failAnalysis(claim.diaryId());
+            } catch (Exception ex) {
+                log.error("분석 실패 상태 저장 실패: 일기 ID {}", claim.diaryId(), ex);
+            }
+        } finally {
+            release(claim);
+        }
+    }
+
+    private void release(Claim claim) {
+        inFlight.decrementAndGet();
+        inFlightByUser.computeIfPresent(claim.userId(),
+                (userId, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ready.set(false);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.exception.BusinessException;
+import com.diary.api.domain.diary.dto.DiaryAnalysisResult;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.llm.service.LlmClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OpenAI 로 일기 본문을 분석해 요약, 피드백, 태그, 대표 감정, 감정 벡터를 생성합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiaryAnalyzer {
+
+    private static final String SYSTEM_PROMPT = "너는 감정 일기를 분석하는 도우미야. "
+            + "사용자의 일기를 읽고 아래 JSON 형식으로만 답해. 다른 문장은 쓰지 마.\n"
+            + "{\"summary\": \"세 문장 이내 요약\", "
+            + "\"feedback\": \"따뜻한 피드백\", "
+            + "\"tags\": [\"태그\", ...최대 5개], "
+            + "\"primaryEmotion\": \"" + String.join("|", EmotionVector.LABELS) + " 중 하나\", "
+            + "\"emotionVector\": [0~1 사이 숫자 " + EmotionVector.DIMENSIONS + "개, 순서: "
+            + String.join(", ", EmotionVector.LABELS) + "]}";
+
+    private static final String FEATURE = "diary_analysis";
+
+    private final LlmClient llmClient;
+    private final ObjectMapper objectMapper;
+
+    public DiaryAnalysisResult analyze(String content) {
+        ChatCompletionRequest request = llmClient.requestBuilder()
+                .messages(List.of(
+                        new ChatMessage("system", SYSTEM_PROMPT),
+                        new ChatMessage("user", content)))
+                .build();
+
+        ChatCompletionResult result = llmClient.complete(FEATURE, request);
+        return parse(result.getChoices().get(0).getMessage().getContent());
+    }
+
+    DiaryAnalysisResult parse(String text) {
+        try {
+            JsonNode root = objectMapper.readTree(stripCodeFence(text));
+
+            List<String> tags = new ArrayList<>();
+            for (JsonNode tag : root.path("tags")) {
+                if (tag.isTextual()) {
+                    tags.add(tag.asText());
+                }
+            }
+
+            float[] vector = new float[EmotionVector.DIMENSIONS];
+            JsonNode vectorNode = root.path("emotionVector");
+            for (int i = 0; i < vector.length && i < vectorNode.size(); i++) {
+                vector[i] = (float) vectorNode.get(i).asDouble();
+            }
+
+            return new DiaryAnalysisResult(
+                    root.path("summary").asText(null),
+                    root.path("feedback").asText(null),
+                    tags,
+                    root.path("primaryEmotion").asText(null),
+                    EmotionVector.of(vector));
+        } catch (JsonProcessingException e) {
+            log.error("일기 분석 응답 파싱 실패: {}", text);
+            throw new BusinessException("일기 분석 응답을 해석할 수 없습니다.", e);
+        }
+    }
+
+    // ```json ... ``` 형태로 감싸서 오는 응답 처리
+    private String stripCodeFence(String text) {
+        String trimmed = text.trim();
+        if (trimmed.startsWith("```")) {
+            int start = trimmed.indexOf('\n');
+            int end = trimmed.lastIndexOf("```");
+            if (start >= 0 && end > start) {
+                return trimmed.substring(start + 1, end);
+            }
+        }
+        return trimmed;
+    }
+}
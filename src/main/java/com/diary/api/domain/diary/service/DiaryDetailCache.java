@@ -0,0 +1,75 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.config.DiaryCacheProperties;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 일기 상세 조회용 읽기 캐시
+ * Caffeine(W-TinyLFU) 에 불변 DiaryDto 사본을 id 별로 두고, 본문 크기 기준 가중치로 전체 용량을 제한합니다.
+ * 일기 수정/삭제/공개 여부 변경/분석 완료가 커밋되면 해당 항목을 무효화합니다.
+ */
+@Component
+public class DiaryDetailCache {
+    // 문자열 외 필드(날짜, id, 객체 헤더 등)의 대략적인 고정 크기
+    private static final int BASE_WEIGHT = 256;
+
+    private final DiaryRepository diaryRepository;
+    private final Cache<Long, DiaryDto> cache;
+
+    public DiaryDetailCache(DiaryRepository diaryRepository, DiaryCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.diaryRepository = diaryRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeightBytes())
+                .weigher((Long id, DiaryDto diary) -> weigh(diary))
+                .expireAfterWrite(Duration.ofMinutes(properties.getExpireAfterWriteMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "diary.detail");
+    }
+
+    /**
+     * 캐시에 없으면 상세 프로젝션을 읽어 채웁니다. 없는 일기는 캐시하지 않습니다.
+     */
+    public Optional<DiaryDto> get(Long id) {
+        return Optional.ofNullable(cache.get(id, key -> diaryRepository.findDetailViewById(key)
+                .map(DiaryDto::from)
+                .orElse(null)));
+    }
+
+    @TransactionalEventListener
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        cache.invalidate(event.diaryId());
+    }
+
+    // UTF-16 문자열 기준 대략적인 바이트 수
+    private static int weigh(DiaryDto diary) {
+        long weight = BASE_WEIGHT
+                + length(diary.getContent())
+                + length(diary.getSummary())
+                + length(diary.getFeedback())
+                + length(diary.getImageUrl())
+                + length(diary.getUserName());
+        if (diary.getTags() != null) {
+            for (String tag : diary.getTags()) {
+                weight += length(tag) + 16;
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
@@ -0,0 +1,65 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.converter.CompressedTextConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리보기 컬럼이 비어 있는 기존 일기를 본문으로부터 채웁니다.
+ * 배치마다 별도 트랜잭션으로 커밋하므로 중간에 중단돼도 다음 기동 때 이어서 진행됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryPreviewMigrationService {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String SELECT_BATCH_SQL = "SELECT id, content FROM diaries " +
+            "WHERE id > ? AND preview IS NULL ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE diaries SET preview = ? WHERE id = ? AND preview IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 3)
+    public void backfill() {
+        long lastId = 0L;
+        long filled = 0L;
+        while (true) {
+            final long from = lastId;
+            List<Object[]> updates = transactionTemplate.execute(status -> {
+                List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                jdbcTemplate.query(SELECT_BATCH_SQL, rs -> {
+                    String content = CompressedTextConverter.decode(rs.getBytes(2));
+                    batch.add(new Object[] { Diary.previewOf(content == null ? "" : content), rs.getLong(1) });
+                }, from, BATCH_SIZE);
+                if (!batch.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+                }
+                return batch;
+            });
+            if (updates == null || updates.isEmpty()) {
+                break;
+            }
+            filled += updates.size();
+            lastId = (long) updates.get(updates.size() - 1)[1];
+        }
+
+        if (filled > 0) {
+            log.info("일기 미리보기 백필 완료: {}건", filled);
+        }
+    }
+}
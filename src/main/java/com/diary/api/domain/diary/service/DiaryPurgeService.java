@@ -0,0 +1,110 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.config.DiaryPurgeProperties;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 삭제 표시된 일기를 주기적으로 배치 단위로 실제 삭제합니다.
+ * 배치마다 태그 색인 삭제, 감정 통계 차감, 일기 삭제를 한 트랜잭션으로 처리하며,
+ * SKIP LOCKED 로 가져오므로 여러 인스턴스가 동시에 실행해도 같은 일기를 두 번 처리하지 않습니다.
+ * 메모리 색인과 캐시는 삭제 표시 시점의 DELETED 이벤트로 이미 정리됩니다.
+ */
+@Slf4j
+@Service
+public class DiaryPurgeService {
+    private final DiaryRepository diaryRepository;
+    private final DiaryTagService diaryTagService;
+    private final EmotionStatsService emotionStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final DiaryPurgeProperties properties;
+    private final Counter purgedCounter;
+    private final AtomicLong pending = new AtomicLong();
+
+    public DiaryPurgeService(DiaryRepository diaryRepository, DiaryTagService diaryTagService,
+            EmotionStatsService emotionStatsService, TransactionTemplate transactionTemplate,
+            DiaryPurgeProperties properties, MeterRegistry meterRegistry) {
+        this.diaryRepository = diaryRepository;
+        this.diaryTagService = diaryTagService;
+        this.emotionStatsService = emotionStatsService;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.purgedCounter = Counter.builder("diary.purge.purged")
+                .description("실제 삭제된 일기 수")
+                .register(meterRegistry);
+        Gauge.builder("diary.purge.pending", pending, AtomicLong::get)
+                .description("삭제 표시 후 정리를 기다리는 일기 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${diary.purge.interval-ms:60000}")
+    public void purge() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long purged = 0L;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer count = transactionTemplate.execute(status -> purgeBatch());
+            if (count == null || count == 0) {
+                break;
+            }
+            purged += count;
+            purgedCounter.increment(count);
+        }
+
+        pending.set(diaryRepository.countDeleted());
+        if (purged > 0) {
+            log.info("삭제 표시된 일기 정리 완료: {}건", purged);
+        }
+    }
+
+    private int purgeBatch() {
+        List<Object[]> rows = diaryRepository.lockDeletedForPurge(properties.getBatchSize());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<EmotionStatsService.Contribution> contributions = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            ids.add(id);
+
+            String emotion = (String) row[3];
+            byte[] vector = (byte[]) row[4];
+            if (row[2] != null && (emotion != null || vector != null)) {
+                contributions.add(new EmotionStatsService.Contribution(
+                        ((Number) row[1]).longValue(),
+                        toLocalDateTime(row[2]).toLocalDate(),
+                        emotion,
+                        vector == null || vector.length == 0 ? null : EmotionVector.fromBytes(vector)));
+            }
+        }
+
+        diaryTagService.removeAll(ids);
+        emotionStatsService.removeAll(contributions);
+        return diaryRepository.purgeDeleted(ids);
+    }
+
+    // 드라이버 설정에 따라 DATETIME 이 Timestamp 또는 LocalDateTime 으로 옴
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        return ((Timestamp) value).toLocalDateTime();
+    }
+}
@@ -0,0 +1,150 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.CursorPage;
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryListView;
+import com.diary.api.domain.diary.entity.converter.CompressedTextConverter;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
+import com.diary.api.domain.diary.index.FullTextIndex;
+import com.diary.api.domain.diary.index.NgramTokenizer;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.diary.api.domain.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 일기 본문/요약 전문 검색
+ * 메모리 n-gram 색인을 기동 시 스트리밍으로 구성하고, 일기 변경이 커밋될 때마다 갱신합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DiarySearchService {
+    private static final int MAX_PAGE_SIZE = 100;
+    // 점수순 결과는 오프셋으로 넘기므로 깊은 페이지 탐색을 제한
+    private static final int MAX_RESULTS = 1000;
+
+    private static final String SELECT_DIARY_TEXT_SQL = "SELECT id, user_id, is_public, content, summary FROM diaries " +
+            "WHERE deleted_at IS NULL";
+
+    private final DiaryRepository diaryRepository;
+    private final DataSource dataSource;
+
+    private final FullTextIndex index = new FullTextIndex();
+
+    /**
+     * 기동 시 전체 일기를 스트리밍으로 읽어 색인을 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        // MySQL 드라이버에서 행 단위 스트리밍
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        long started = System.currentTimeMillis();
+        streaming.query(SELECT_DIARY_TEXT_SQL, rs -> {
+            index.upsert(rs.getLong(1), rs.getLong(2), rs.getBoolean(3),
+                    searchableText(CompressedTextConverter.decode(rs.getBytes(4)),
+                            CompressedTextConverter.decode(rs.getBytes(5))));
+        });
+        log.info("전문 검색 색인 구성 완료: {}건, {}ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 일기 변경이 커밋되면 색인을 갱신합니다.
+     * 본문이 그대로이면 공개 여부만 반영하고, 색인에 없던 일기만 본문을 다시 읽어 색인합니다.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (event.type() == DiaryChangedEvent.Type.DELETED || event.userId() == null) {
+            index.remove(event.diaryId());
+        } else if (event.contentChanged()) {
+            index.upsert(event.diaryId(), event.userId(), event.isPublic(),
+                    searchableText(event.content(), event.summary()));
+        } else if (!index.updateVisibility(event.diaryId(), event.isPublic())) {
+            diaryRepository.findSearchTextById(event.diaryId()).stream()
+                    .findFirst()
+                    .ifPresent(row -> index.upsert(event.diaryId(), event.userId(), event.isPublic(),
+                            searchableText((String) row[0], (String) row[1])));
+        }
+    }
+
+    /**
+     * 내 일기와 공개 일기에서 검색어를 포함한 일기를 관련도순으로 조회합니다.
+     * 커서는 다음 결과의 오프셋입니다.
+     */
+    public CursorPage<DiaryDto> search(String query, User user, String cursor, int size) {
+        if (query == null || NgramTokenizer.tokenize(query).isEmpty()) {
+            throw new ValidationException("검색어는 두 글자 이상 입력해주세요.");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int offset = parseOffset(cursor);
+        if (offset >= MAX_RESULTS) {
+            return CursorPage.of(List.of(), null);
+        }
+
+        int limit = Math.min(offset + pageSize + 1, MAX_RESULTS);
+        List<FullTextIndex.Result> results = index.search(query, user.getId(), limit);
+        if (results.size() <= offset) {
+            return CursorPage.of(List.of(), null);
+        }
+
+        boolean hasNext = results.size() > offset + pageSize;
+        List<Long> ids = results.subList(offset, Math.min(offset + pageSize, results.size())).stream()
+                .map(FullTextIndex.Result::diaryId)
+                .collect(Collectors.toList());
+
+        // 점수 순서를 유지하며 본문 조회, 색인 갱신 전에 비공개로 바뀐 남의 일기는 제외
+        Map<Long, DiaryListView> views = diaryRepository.findListViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(DiaryListView::id, Function.identity()));
+        List<DiaryDto> items = ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .filter(view -> Boolean.TRUE.equals(view.isPublic()) || user.getId().equals(view.userId()))
+                .map(DiaryDto::from)
+                .collect(Collectors.toList());
+
+        return CursorPage.of(items, hasNext ? String.valueOf(offset + pageSize) : null);
+    }
+
+    private static int parseOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset < 0) {
+                throw new NumberFormatException();
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new ValidationException("잘못된 커서입니다.");
+        }
+    }
+
+    private static String searchableText(String content, String summary) {
+        if (summary == null || summary.isEmpty()) {
+            return content;
+        }
+        return content == null ? summary : content + "\n" + summary;
+    }
+}
@@ -1,18 +1,42 @@
 package com.diary.api.domain.diary.service;
 
 import com.diary.api.common.ApiResponse;
+import com.diary.api.common.CursorPage;
+import com.diary.api.common.ETags;
+import com.diary.api.common.VersionStamp;
 import com.diary.api.common.exception.BusinessException;
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.diary.dto.CalendarBucket;
+import com.diary.api.domain.diary.dto.DiaryAnalysisResult;
+import com.diary.api.domain.diary.dto.DiaryCalendarDto;
+import com.diary.api.domain.diary.dto.DiaryCursor;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryListView;
 import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
 import com.diary.api.domain.diary.repository.DiaryRepository;
 import com.diary.api.domain.user.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,7 +44,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class DiaryService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final DiaryRepository diaryRepository;
+    private final DiaryTagService diaryTagService;
+    private final EmotionStatsService emotionStatsService;
+    private final EmotionFeedService emotionFeedService;
+    private final DiaryDetailCache diaryDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ApiResponse<Diary> createDiary(Diary diary, User user) {
@@ -29,6 +61,9 @@ public class DiaryService {
             diary.setAnalysisStatus("pending");
 
             Diary savedDiary = diaryRepository.save(diary);
+            diaryTagService.index(savedDiary);
+            emotionStatsService.apply(null, EmotionStatsService.Contribution.of(savedDiary));
+            eventPublisher.publishEvent(DiaryChangedEvent.of(DiaryChangedEvent.Type.CREATED, savedDiary));
             return ApiResponse.success(savedDiary);
         } catch (Exception e) {
             log.error("일기 생성 중 오류 발생", e);
@@ -36,12 +71,13 @@ public class DiaryService {
         }
     }
 
-    public ApiResponse<Diary> getDiary(Long id, User user) {
+    public ApiResponse<DiaryDto> getDiary(Long id, User user) {
         try {
-            Diary diary = diaryRepository.findById(id)
+            DiaryDto diary = diaryDetailCache.get(id)
                     .orElseThrow(() -> new BusinessException("일기를 찾을 수 없습니다."));
 
-            if (!diary.getIsPublic() && !diary.getUser().getId().equals(user.getId())) {
+            // 캐시된 사본으로 권한 확인
+            if (!Boolean.TRUE.equals(diary.getIsPublic()) && !diary.getUserId().equals(user.getId())) {
                 throw new BusinessException("해당 일기에 접근할 권한이 없습니다.");
             }
 
@@ -54,10 +90,12 @@ public class DiaryService {
         }
     }
 
-    public ApiResponse<List<Diary>> getUserDiaries(User user) {
+    public ApiResponse<List<DiaryDto>> getUserDiaries(User user) {
         try {
             log.info("사용자 ID: {}의 일기 목록 조회 시작", user.getId());
-            List<Diary> diaries = diaryRepository.findByUser(user);
+            List<DiaryDto> diaries = diaryRepository.findListViewsByUserId(user.getId()).stream()
+                    .map(DiaryDto::from)
+                    .collect(Collectors.toList());
             log.info("조회된 일기 수: {}", diaries.size());
             return ApiResponse.success(diaries);
         } catch (Exception e) {
@@ -69,6 +107,54 @@ public class DiaryService {
         }
     }
 
+    /**
+     * 사용자 일기 목록 응답의 ETag. 목록 본문 대신 집계 버전 한 행만 조회합니다.
+     */
+    public String getUserDiariesETag(User user) {
+        VersionStamp version = diaryRepository.findVersionByUserId(user.getId());
+        return ETags.strong("diaries", user.getId(), version);
+    }
+
+    /**
+     * 사용자의 일기를 (createdAt, id) 키셋 커서로 한 페이지씩 조회합니다.
+     */
+    public ApiResponse<CursorPage<DiaryDto>> getUserDiaryPage(User user, String cursor, int size) {
+        try {
+            int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+            PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+            List<DiaryListView> diaries;
+            if (cursor == null || cursor.isEmpty()) {
+                diaries = diaryRepository.findFirstPageByUserId(user.getId(), limit);
+            } else {
+                DiaryCursor after = DiaryCursor.decode(cursor);
+                diaries = diaryRepository.findPageByUserIdAfter(user.getId(), after.createdAt(), after.id(), limit);
+            }
+
+            boolean hasNext = diaries.size() > pageSize;
+            if (hasNext) {
+                diaries = diaries.subList(0, pageSize);
+            }
+
+            String nextCursor = null;
+            if (hasNext) {
+                DiaryListView last = diaries.get(diaries.size() - 1);
+                nextCursor = new DiaryCursor(last.createdAt(), last.id()).encode();
+            }
+
+            List<DiaryDto> items = diaries.stream()
+                    .map(DiaryDto::from)
+                    .collect(Collectors.toList());
+            return ApiResponse.success(CursorPage.of(items, nextCursor));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("사용자 일기 페이지 조회 중 오류 발생", e);
+            throw new BusinessException("일기 조회에 실패했습니다.");
+        }
+    }
+
     @Transactional
     public ApiResponse<Diary> updateDiary(Long id, Diary updatedDiary, User user) {
         try {
@@ -79,12 +165,18 @@ public class DiaryService {
                 throw new BusinessException("일기 수정 권한이 없습니다.");
             }
 
+            boolean tagsChanged = !Objects.equals(diary.getTags(), updatedDiary.getTags());
+            boolean visibilityChanged = !Objects.equals(diary.getIsPublic(), updatedDiary.getIsPublic());
+            boolean contentChanged = !Objects.equals(diary.getContent(), updatedDiary.getContent());
+            EmotionStatsService.Contribution before = EmotionStatsService.Contribution.of(diary);
+
             diary.updateContent(updatedDiary.getContent());
             diary.setIsPublic(updatedDiary.getIsPublic());
             diary.setImageUrl(updatedDiary.getImageUrl());
             diary.setEmotion(updatedDiary.getEmotion());
             diary.setTags(updatedDiary.getTags());
 
+            afterUpdate(diary, before, contentChanged, tagsChanged, visibilityChanged);
             return ApiResponse.success(diary);
         } catch (BusinessException e) {
             throw e;
@@ -94,6 +186,128 @@ public class DiaryService {
         }
     }
 
+    /**
+     * JSON Merge Patch(RFC 7396)로 일기를 부분 수정합니다.
+     * 본문에 있는 필드만 반영하고 null 은 값을 지웁니다. 값이 실제로 바뀐 컬럼만 UPDATE 됩니다.
+     */
+    @Transactional
+    public ApiResponse<DiaryDto> patchDiary(Long id, JsonNode patch, User user) {
+        if (patch == null || !patch.isObject()) {
+            throw new ValidationException("수정할 내용은 JSON 객체여야 합니다.");
+        }
+
+        try {
+            Diary diary = diaryRepository.findById(id)
+                    .orElseThrow(() -> new BusinessException("일기를 찾을 수 없습니다."));
+
+            if (!diary.getUser().getId().equals(user.getId())) {
+                throw new BusinessException("일기 수정 권한이 없습니다.");
+            }
+
+            EmotionStatsService.Contribution before = EmotionStatsService.Contribution.of(diary);
+            boolean contentChanged = false;
+            boolean tagsChanged = false;
+            boolean visibilityChanged = false;
+
+            Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = field.getValue();
+                switch (field.getKey()) {
+                    case "content" -> {
+                        if (!value.isTextual() || value.asText().isBlank()) {
+                            throw new ValidationException("내용은 비울 수 없습니다.");
+                        }
+                        if (!value.asText().equals(diary.getContent())) {
+                            diary.updateContent(value.asText());
+                            contentChanged = true;
+                        }
+                    }
+                    case "isPublic" -> {
+                        // 공개 여부는 지울 수 없는 값이므로 null 도 거부
+                        if (!value.isBoolean()) {
+                            throw new ValidationException("isPublic 은 true/false 여야 합니다.");
+                        }
+                        Boolean isPublic = value.asBoolean();
+                        if (!isPublic.equals(diary.getIsPublic())) {
+                            diary.setIsPublic(isPublic);
+                            visibilityChanged = true;
+                        }
+                    }
+                    case "imageUrl" -> {
+                        String imageUrl = textOrNull(field.getKey(), value);
+                        if (!Objects.equals(imageUrl, diary.getImageUrl())) {
+                            diary.setImageUrl(imageUrl);
+                        }
+                    }
+                    case "primaryEmotion" -> {
+                        String emotion = textOrNull(field.getKey(), value);
+                        if (!Objects.equals(emotion, diary.getPrimaryEmotion())) {
+                            diary.setEmotion(emotion);
+                        }
+                    }
+                    case "tags" -> {
+                        List<String> tags = new ArrayList<>();
+                        if (!value.isNull()) {
+                            if (!value.isArray()) {
+                                throw new ValidationException("tags 는 문자열 배열이어야 합니다.");
+                            }
+                            for (JsonNode tag : value) {
+                                if (!tag.isTextual()) {
+                                    throw new ValidationException("tags 는 문자열 배열이어야 합니다.");
+                                }
+                                tags.add(tag.asText());
+                            }
+                        }
+                        List<String> current = diary.getTags() == null ? List.of() : diary.getTags();
+                        if (!current.equals(tags)) {
+                            diary.setTags(tags);
+                            tagsChanged = true;
+                        }
+                    }
+                    default -> throw new ValidationException("수정할 수 없는 필드입니다: " + field.getKey());
+                }
+            }
+
+            afterUpdate(diary, before, contentChanged, tagsChanged, visibilityChanged);
+            return ApiResponse.success(DiaryDto.from(diary));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("일기 부분 수정 중 오류 발생", e);
+            throw new BusinessException("일기 수정에 실패했습니다.");
+        }
+    }
+
+    private static String textOrNull(String field, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new ValidationException(field + " 값은 문자열이어야 합니다.");
+        }
+        return value.asText();
+    }
+
+    // 수정 후 재분석 표시, 태그 색인/감정 통계 동기화, 변경 이벤트 발행
+    private void afterUpdate(Diary diary, EmotionStatsService.Contribution before,
+            boolean contentChanged, boolean tagsChanged, boolean visibilityChanged) {
+        // 본문이 바뀌면 다시 분석
+        if (contentChanged) {
+            diary.setAnalysisStatus("pending");
+        }
+
+        // 태그 색인 동기화
+        if (tagsChanged) {
+            diaryTagService.reindex(diary);
+        } else if (visibilityChanged) {
+            diaryTagService.updateVisibility(diary.getId(), diary.getIsPublic());
+        }
+        emotionStatsService.apply(before, EmotionStatsService.Contribution.of(diary));
+        // 본문이 그대로이면 지연 로딩되는 본문을 읽지 않음
+        eventPublisher.publishEvent(DiaryChangedEvent.of(DiaryChangedEvent.Type.UPDATED, diary, contentChanged));
+    }
+
     @Transactional
     public ApiResponse<Void> deleteDiary(Long id, User user) {
         try {
@@ -104,7 +318,11 @@ public class DiaryService {
                 throw new BusinessException("일기 삭제 권한이 없습니다.");
             }
 
-            diaryRepository.delete(diary);
+            // 삭제 표시만 하고 태그 색인/감정 통계 정리와 실제 삭제는 DiaryPurgeService 가 처리
+            diary.markDeleted();
+            // 정리 전까지 태그 조회 페이지에 삭제된 일기가 끼지 않도록 태그 색인은 바로 숨김
+            diaryTagService.updateVisibility(diary.getId(), false);
+            eventPublisher.publishEvent(DiaryChangedEvent.of(DiaryChangedEvent.Type.DELETED, diary));
             return ApiResponse.success(null);
         } catch (BusinessException e) {
             throw e;
@@ -114,26 +332,164 @@ public class DiaryService {
         }
     }
 
-    public ApiResponse<List<Diary>> getDiariesByEmotion(String emotion) {
+    /**
+     * 분석 결과를 반영하고 완료 처리합니다.
+     * 분석 도중 본문이 수정되어 상태가 바뀐 일기는 건너뜁니다.
+     */
+    @Transactional
+    public void completeAnalysis(Long id, DiaryAnalysisResult result) {
+        Diary diary = diaryRepository.findById(id).orElse(null);
+        if (diary == null || !"processing".equals(diary.getAnalysisStatus())) {
+            log.info("분석 결과 반영 생략: 일기 ID {}", id);
+            return;
+        }
+
+        // 사용자가 직접 단 태그는 유지하고 분석 태그를 덧붙임
+        Set<String> merged = new LinkedHashSet<>();
+        if (diary.getTags() != null) {
+            merged.addAll(diary.getTags());
+        }
+        if (result.tags() != null) {
+            merged.addAll(result.tags());
+        }
+        List<String> tags = new ArrayList<>(merged);
+        boolean tagsChanged = !Objects.equals(diary.getTags(), tags);
+        EmotionStatsService.Contribution before = EmotionStatsService.Contribution.of(diary);
+
+        diary.applyAnalysis(result.summary(), result.feedback(), tags,
+                result.primaryEmotion(), result.emotionVector());
+
+        if (tagsChanged) {
+            diaryTagService.reindex(diary);
+        }
+        emotionStatsService.apply(before, EmotionStatsService.Contribution.of(diary));
+        // 요약이 새로 생기면 검색 텍스트가 바뀜
+        eventPublisher.publishEvent(DiaryChangedEvent.of(DiaryChangedEvent.Type.UPDATED, diary,
+                result.summary() != null));
+    }
+
+    @Transactional
+    public void failAnalysis(Long id) {
+        diaryRepository.findById(id)
+                .filter(diary -> "processing".equals(diary.getAnalysisStatus()))
+                .ifPresent(diary -> {
+                    diary.updateAnalysisStatus("failed");
+                    eventPublisher.publishEvent(DiaryChangedEvent.of(DiaryChangedEvent.Type.UPDATED, diary));
+                });
+    }
+
+    /**
+     * AI 서비스가 혼잡하거나 차단 중이라 분석하지 못한 일기를 다시 대기 상태로 돌립니다.
+     */
+    @Transactional
+    public void requeueAnalysis(Long id) {
+        diaryRepository.findById(id)
+                .filter(diary -> "processing".equals(diary.getAnalysisStatus()))
+                .ifPresent(diary -> diary.setAnalysisStatus("pending"));
+    }
+
+    public ApiResponse<CursorPage<DiaryDto>> getDiariesByEmotion(String emotion, String cursor, int size) {
         try {
-            List<Diary> diaries = diaryRepository.findByPrimaryEmotionAndIsPublicTrue(emotion);
-            return ApiResponse.success(diaries);
+            return ApiResponse.success(emotionFeedService.getFeed(emotion, cursor, size));
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("감정별 일기 조회 중 오류 발생", e);
             throw new BusinessException("감정별 일기 조회에 실패했습니다.");
         }
     }
 
-    public ApiResponse<List<Diary>> getDiariesByTags(List<String> tags) {
+    public ApiResponse<CursorPage<DiaryDto>> getDiariesByTags(List<String> tags, DiaryTagService.Match match,
+            String cursor, int size) {
         try {
-            List<Diary> diaries = diaryRepository.findByTagsInAndIsPublicTrue(tags);
-            return ApiResponse.success(diaries);
+            return ApiResponse.success(diaryTagService.search(tags, match, cursor, size));
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             log.error("태그별 일기 조회 중 오류 발생", e);
             throw new BusinessException("태그별 일기 조회에 실패했습니다.");
         }
     }
 
+    /**
+     * 기간 내 날짜별 일기 수, 대표 감정, 평균 감정 강도를 병렬 배열로 반환합니다.
+     * 집계 쿼리 한 번으로 (날짜 x 감정) 행만 읽어 날짜별로 접습니다.
+     */
+    public ApiResponse<DiaryCalendarDto> getCalendar(User user, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ValidationException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new ValidationException("캘린더는 최대 " + MAX_CALENDAR_DAYS + "일까지 조회할 수 있습니다.");
+        }
+
+        try {
+            List<CalendarBucket> buckets = diaryRepository.findCalendarBuckets(user.getId(),
+                    from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+            // 날짜별 [일기 수, 최다 감정 건수, 강도 건수] 와 최다 감정, 강도 합계
+            TreeMap<LocalDate, long[]> counts = new TreeMap<>();
+            Map<LocalDate, String> topEmotions = new HashMap<>();
+            Map<LocalDate, Double> intensitySums = new HashMap<>();
+            for (CalendarBucket bucket : buckets) {
+                long[] day = counts.computeIfAbsent(bucket.day(), key -> new long[3]);
+                day[0] += bucket.diaryCount();
+                if (bucket.primaryEmotion() != null && bucket.diaryCount() > day[1]) {
+                    day[1] = bucket.diaryCount();
+                    topEmotions.put(bucket.day(), bucket.primaryEmotion());
+                }
+                if (bucket.intensityCount() != null && bucket.intensityCount() > 0) {
+                    day[2] += bucket.intensityCount();
+                    intensitySums.merge(bucket.day(), bucket.intensitySum(), Double::sum);
+                }
+            }
+
+            List<String> emotions = new ArrayList<>(EmotionVector.LABELS);
+            int size = counts.size();
+            int[] dayOffsets = new int[size];
+            int[] diaryCounts = new int[size];
+            int[] emotionCodes = new int[size];
+            Float[] intensities = new Float[size];
+
+            int i = 0;
+            for (Map.Entry<LocalDate, long[]> entry : counts.entrySet()) {
+                LocalDate date = entry.getKey();
+                long[] day = entry.getValue();
+                dayOffsets[i] = (int) ChronoUnit.DAYS.between(from, date);
+                diaryCounts[i] = (int) day[0];
+
+                String top = topEmotions.get(date);
+                if (top == null) {
+                    emotionCodes[i] = -1;
+                } else {
+                    int code = emotions.indexOf(top);
+                    if (code < 0) {
+                        emotions.add(top);
+                        code = emotions.size() - 1;
+                    }
+                    emotionCodes[i] = code;
+                }
+
+                intensities[i] = day[2] == 0 ? null
+                        : Math.round(intensitySums.get(date) / day[2] * 100) / 100f;
+                i++;
+            }
+
+            return ApiResponse.success(DiaryCalendarDto.builder()
+                    .from(from)
+                    .to(to)
+                    .emotions(emotions)
+                    .day(dayOffsets)
+                    .count(diaryCounts)
+                    .emotion(emotionCodes)
+                    .intensity(intensities)
+                    .build());
+        } catch (Exception e) {
+            log.error("캘린더 조회 중 오류 발생", e);
+            throw new BusinessException("캘린더 조회에 실패했습니다.");
+        }
+    }
+
     public ApiResponse<List<Diary>> getUserDiariesByDateRange(User user, LocalDateTime start, LocalDateTime end) {
         try {
             List<Diary> diaries = diaryRepository.findUserDiariesByDateRange(user, start, end);
@@ -167,14 +523,21 @@ public class DiaryService {
     /**
      * Diary 엔티티의 emotion_vector를 반환합니다.
      */
-    public List<Double> getEmotionVectorAsDouble(Diary diary) {
-        return diary.getEmotionVector();
+    public double[] getEmotionVectorAsDouble(Diary diary) {
+        EmotionVector vector = diary.getEmotionVector();
+        double[] result = new double[EmotionVector.DIMENSIONS];
+        if (vector != null) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = vector.get(i);
+            }
+        }
+        return result;
     }
 
     /**
      * Diary 엔티티의 emotion_vector를 설정합니다.
      */
-    public void setEmotionVector(Diary diary, List<Double> emotionVector) {
+    public void setEmotionVector(Diary diary, EmotionVector emotionVector) {
         diary.setEmotionVector(emotionVector);
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.exception.BusinessException;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryListView;
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
+import com.diary.api.domain.diary.index.HnswIndex;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.diary.api.domain.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 공개 일기 감정 벡터 HNSW 색인 관리 및 "비슷한 감정의 일기" 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DiarySimilarityService {
+    private static final int HNSW_M = 16;
+    private static final int HNSW_EF_CONSTRUCTION = 100;
+    private static final int HNSW_EF_SEARCH = 64;
+    private static final int MAX_LIMIT = 50;
+
+    private static final String SELECT_PUBLIC_VECTORS_SQL = "SELECT id, emotion_vector_bin FROM diaries " +
+            "WHERE is_public = true AND emotion_vector_bin IS NOT NULL AND deleted_at IS NULL";
+
+    private final DiaryRepository diaryRepository;
+    private final DataSource dataSource;
+
+    private final HnswIndex index = new HnswIndex(HNSW_M, HNSW_EF_CONSTRUCTION);
+
+    /**
+     * 기동 시 공개 일기 벡터를 스트리밍으로 읽어 색인을 구성합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        // MySQL 드라이버에서 행 단위 스트리밍
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        long started = System.currentTimeMillis();
+        streaming.query(SELECT_PUBLIC_VECTORS_SQL, rs -> {
+            byte[] bytes = rs.getBytes(2);
+            if (bytes != null && bytes.length > 0) {
+                index.upsert(rs.getLong(1), EmotionVector.fromBytes(bytes).toArray());
+            }
+        });
+        log.info("감정 벡터 색인 구성 완료: {}건, {}ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 일기 변경이 커밋되면 색인을 갱신합니다.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        if (event.type() == DiaryChangedEvent.Type.DELETED || !event.isPublic() || event.emotionVector() == null) {
+            index.remove(event.diaryId());
+        } else {
+            index.upsert(event.diaryId(), event.emotionVector().toArray());
+        }
+    }
+
+    /**
+     * 기준 일기와 감정 벡터가 가장 비슷한 공개 일기를 반환합니다.
+     */
+    public List<DiaryDto> findSimilar(Long diaryId, User user, int limit) {
+        Diary diary = diaryRepository.findById(diaryId)
+                .orElseThrow(() -> new BusinessException("일기를 찾을 수 없습니다."));
+
+        if (!diary.getIsPublic() && !diary.getUser().getId().equals(user.getId())) {
+            throw new BusinessException("해당 일기에 접근할 권한이 없습니다.");
+        }
+        if (diary.getEmotionVector() == null) {
+            return List.of();
+        }
+
+        int k = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<HnswIndex.Result> results = index.search(diary.getEmotionVector().toArray(), k,
+                HNSW_EF_SEARCH, diaryId);
+        if (results.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = results.stream().map(HnswIndex.Result::id).collect(Collectors.toList());
+        Map<Long, DiaryListView> views = diaryRepository.findListViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(DiaryListView::id, Function.identity()));
+
+        // 색인 갱신 전에 비공개로 바뀐 일기는 제외
+        return ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .filter(view -> Boolean.TRUE.equals(view.isPublic()))
+                .map(DiaryDto::from)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,214 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.CursorPage;
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.diary.dto.DiaryCursor;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryListView;
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.DiaryTag;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.diary.api.domain.diary.repository.DiaryTagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * diary_tags 역색인 관리 및 태그 조회
+ * diaries.tags JSON 컬럼은 호환용으로만 유지하고, 태그 검색은 모두 이 색인을 사용합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DiaryTagService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final DiaryTagRepository diaryTagRepository;
+    private final DiaryRepository diaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public enum Match {
+        ANY, ALL;
+
+        public static Match from(String value) {
+            try {
+                return Match.valueOf(value.toUpperCase());
+            } catch (RuntimeException e) {
+                throw new ValidationException("match 값은 any 또는 all 이어야 합니다.");
+            }
+        }
+    }
+
+    /**
+     * 새 일기의 태그를 색인합니다. 일기는 이미 저장되어 ID가 있어야 합니다.
+     */
+    @Transactional
+    public void index(Diary diary) {
+        Set<String> tags = normalize(diary.getTags());
+        if (tags.isEmpty()) {
+            return;
+        }
+        diaryTagRepository.saveAll(tags.stream()
+                .map(tag -> DiaryTag.create(diary, tag))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * 태그가 바뀐 일기의 색인을 다시 만듭니다.
+     */
+    @Transactional
+    public void reindex(Diary diary) {
+        diaryTagRepository.deleteByDiaryId(diary.getId());
+        index(diary);
+    }
+
+    @Transactional
+    public void updateVisibility(Long diaryId, Boolean isPublic) {
+        diaryTagRepository.updateVisibility(diaryId, Boolean.TRUE.equals(isPublic));
+    }
+
+    @Transactional
+    public void remove(Long diaryId) {
+        diaryTagRepository.deleteByDiaryId(diaryId);
+    }
+
+    @Transactional
+    public void removeAll(Collection<Long> diaryIds) {
+        if (!diaryIds.isEmpty()) {
+            diaryTagRepository.deleteByDiaryIdIn(diaryIds);
+        }
+    }
+
+    /**
+     * 공개 일기를 태그로 조회합니다.
+     * ANY 는 태그 중 하나라도, ALL 은 모든 태그를 가진 일기를 최신순으로 반환합니다.
+     */
+    public CursorPage<DiaryDto> search(Collection<String> rawTags, Match match, String cursor, int size) {
+        List<String> tags = new ArrayList<>(normalize(rawTags));
+        if (tags.isEmpty()) {
+            throw new ValidationException("조회할 태그를 입력해주세요.");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long minMatches = match == Match.ALL ? tags.size() : 1;
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Long> ids;
+        if (cursor == null || cursor.isEmpty()) {
+            ids = diaryTagRepository.findPublicDiaryIds(tags, minMatches, limit);
+        } else {
+            DiaryCursor after = DiaryCursor.decode(cursor);
+            ids = diaryTagRepository.findPublicDiaryIdsAfter(tags, minMatches, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+        if (ids.isEmpty()) {
+            return CursorPage.of(List.of(), null);
+        }
+
+        // 색인 순서(최신순)를 유지하며 본문 조회
+        Map<Long, DiaryListView> views = diaryRepository.findListViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(DiaryListView::id, Function.identity()));
+        List<DiaryListView> ordered = ids.stream()
+                .map(views::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasNext && !ordered.isEmpty()) {
+            DiaryListView last = ordered.get(ordered.size() - 1);
+            nextCursor = new DiaryCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return CursorPage.of(ordered.stream().map(DiaryDto::from).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * 색인이 비어 있으면 기존 일기의 JSON 태그로부터 색인을 채웁니다.
+     * 청크마다 별도 트랜잭션으로 처리합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (diaryTagRepository.count() > 0) {
+            return;
+        }
+
+        long lastId = 0L;
+        long indexed = 0L;
+        while (true) {
+            final long from = lastId;
+            List<Diary> chunk = transactionTemplate.execute(status -> {
+                List<Diary> diaries = diaryRepository.findByIdGreaterThanOrderByIdAsc(from,
+                        PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+                diaries.forEach(this::index);
+                return diaries;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+            indexed += chunk.size();
+        }
+
+        if (indexed > 0) {
+            log.info("태그 색인 백필 완료: 일기 {}건", indexed);
+        }
+    }
+
+    // 공백 제거, 빈 태그 제외, NFC 정규화, 길이 제한(코드 포인트 기준), 중복 제거
+    // 중복은 tag 컬럼의 utf8mb4_0900_ai_ci 와 같이 대소문자/악센트를 무시하고 판단해
+    // ("Happy"/"happy", "café"/"cafe") 고유 키 위반이 나지 않게 하고, 먼저 나온 표기를 유지합니다.
+    static Set<String> normalize(Collection<String> tags) {
+        Set<String> result = new LinkedHashSet<>();
+        if (tags == null) {
+            return result;
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        Set<String> seen = new TreeSet<>(collator);
+        for (String tag : tags) {
+            if (tag == null) {
+                continue;
+            }
+            String normalized = truncate(Normalizer.normalize(tag, Normalizer.Form.NFC).strip());
+            if (!normalized.isEmpty() && seen.add(normalized)) {
+                result.add(normalized);
+            }
+        }
+        return result;
+    }
+
+    // 서로게이트 쌍이 갈라지지 않도록 코드 포인트 단위로 자름
+    private static String truncate(String tag) {
+        if (tag.codePointCount(0, tag.length()) <= DiaryTag.MAX_TAG_LENGTH) {
+            return tag;
+        }
+        return tag.substring(0, tag.offsetByCodePoints(0, DiaryTag.MAX_TAG_LENGTH)).strip();
+    }
+}
@@ -0,0 +1,130 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.config.DiaryStorageProperties;
+import com.diary.api.domain.diary.entity.converter.CompressedTextConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 일기 본문/요약/피드백 압축 저장 전환
+ * diary.storage.compress-text 가 켜져 있으면 기존 행을 배치마다 별도 트랜잭션으로 다시 인코딩합니다.
+ * 중간에 중단돼도 다음 기동 때 이어서 진행됩니다.
+ * 컬럼 변환(db/diary-text-to-blob.sql)은 테이블을 다시 쓰므로 여기서 실행하지 않고, 되어 있지 않으면 기동을 멈춥니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryTextCompressionService {
+    private static final String TEXT_COLUMNS_SQL = "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'diaries' " +
+            "AND column_name IN ('content', 'summary', 'feedback') AND data_type NOT LIKE '%blob'";
+
+    private static final String SELECT_BATCH_SQL = "SELECT id, content, summary, feedback, updated_at " +
+            "FROM diaries WHERE id > ? ORDER BY id LIMIT ?";
+
+    // 읽은 뒤 수정된 행은 건너뜀
+    private static final String UPDATE_SQL = "UPDATE diaries SET content = ?, summary = ?, feedback = ? " +
+            "WHERE id = ? AND updated_at <=> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DiaryStorageProperties properties;
+    private final CompressedTextConverter textConverter;
+
+    private record BatchResult(long lastId, int rewritten, long bytesBefore, long bytesAfter) {
+    }
+
+    /**
+     * 압축 저장을 켰는데 컬럼이 아직 TEXT 이면 압축 바이트를 쓰기 전에 기동을 실패시킵니다.
+     */
+    @PostConstruct
+    void verifySchema() {
+        if (!properties.isCompressText()) {
+            return;
+        }
+        Integer textColumns = jdbcTemplate.queryForObject(TEXT_COLUMNS_SQL, Integer.class);
+        if (textColumns != null && textColumns > 0) {
+            throw new IllegalStateException("diary.storage.compress-text 를 켜기 전에 "
+                    + "db/diary-text-to-blob.sql 로 일기 텍스트 컬럼을 MEDIUMBLOB 으로 변환해야 합니다.");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public void reencode() {
+        if (!properties.isCompressText()) {
+            return;
+        }
+
+        long lastId = 0L;
+        long rewritten = 0L;
+        long bytesBefore = 0L;
+        long bytesAfter = 0L;
+        while (true) {
+            BatchResult result = reencodeBatch(lastId);
+            if (result == null) {
+                break;
+            }
+            lastId = result.lastId();
+            rewritten += result.rewritten();
+            bytesBefore += result.bytesBefore();
+            bytesAfter += result.bytesAfter();
+        }
+
+        if (rewritten > 0) {
+            log.info("일기 본문 압축 재인코딩 완료: {}건, {} -> {} bytes ({}% 감소)", rewritten, bytesBefore, bytesAfter,
+                    bytesBefore == 0 ? 0 : Math.round(100.0 * (bytesBefore - bytesAfter) / bytesBefore));
+        }
+    }
+
+    /**
+     * 한 배치를 다시 인코딩합니다. 더 이상 대상이 없으면 null 을 반환합니다.
+     */
+    private BatchResult reencodeBatch(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> updates = new ArrayList<>();
+            long[] lastId = { -1L };
+            long[] bytes = { 0L, 0L };
+
+            jdbcTemplate.query(SELECT_BATCH_SQL, rs -> {
+                lastId[0] = rs.getLong(1);
+                byte[][] before = { rs.getBytes(2), rs.getBytes(3), rs.getBytes(4) };
+                byte[][] after = new byte[3][];
+                boolean changed = false;
+                for (int i = 0; i < before.length; i++) {
+                    after[i] = textConverter.encode(CompressedTextConverter.decode(before[i]));
+                    changed |= !Arrays.equals(before[i], after[i]);
+                }
+                if (changed) {
+                    for (int i = 0; i < before.length; i++) {
+                        bytes[0] += before[i] == null ? 0 : before[i].length;
+                        bytes[1] += after[i] == null ? 0 : after[i].length;
+                    }
+                    Timestamp updatedAt = rs.getTimestamp(5);
+                    updates.add(new Object[] { after[0], after[1], after[2], lastId[0], updatedAt });
+                }
+            }, afterId, properties.getReencodeBatchSize());
+
+            if (lastId[0] < 0) {
+                return null;
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            return new BatchResult(lastId[0], updates.size(), bytes[0], bytes[1]);
+        });
+    }
+}
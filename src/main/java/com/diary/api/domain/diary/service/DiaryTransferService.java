@@ -0,0 +1,288 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.exception.BusinessException;
+import com.diary.api.domain.diary.dto.DiaryExportRecord;
+import com.diary.api.domain.diary.dto.DiaryImportResult;
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.entity.converter.CompressedTextConverter;
+import com.diary.api.domain.diary.entity.converter.TagsConverter;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
+import com.diary.api.domain.user.entity.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일기 NDJSON 대량 내보내기/가져오기
+ * 내보내기는 JDBC 스트리밍 커서에서 한 행씩 바로 JSON 으로 써서 일기 수와 관계없이 메모리 사용량이 일정하고,
+ * 가져오기는 한 줄씩 읽어 청크 단위 JDBC 배치 INSERT 로 저장합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DiaryTransferService {
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
+    private static final String EXPORT_SQL = "SELECT id, content, is_public, summary, feedback, tags, primary_emotion, " +
+            "emotion_vector_bin, analysis_status, image_url, created_at, updated_at " +
+            "FROM diaries WHERE user_id = ? AND deleted_at IS NULL ORDER BY id";
+
+    private static final String INSERT_DIARY_SQL = "INSERT INTO diaries (user_id, content, is_public, summary, feedback, " +
+            "tags, primary_emotion, emotion_vector_bin, emotion_intensity, analysis_status, analyzed_at, image_url, " +
+            "created_at, updated_at, preview) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TAG_SQL = "INSERT INTO diary_tags (tag, diary_id, is_public, created_at) " +
+            "VALUES (?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EmotionStatsService emotionStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CompressedTextConverter textConverter;
+
+    private final TagsConverter tagsConverter = new TagsConverter();
+
+    // 가져오기 한 줄을 DB 에 넣을 값으로 정리한 것
+    private record ImportRow(
+            String content,
+            boolean isPublic,
+            String summary,
+            String feedback,
+            List<String> tags,
+            String primaryEmotion,
+            EmotionVector emotionVector,
+            String analysisStatus,
+            String imageUrl,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+    }
+
+    /**
+     * 사용자의 일기를 id 순으로 한 줄에 하나씩 씁니다.
+     */
+    public void export(User user, OutputStream out) throws IOException {
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        // MySQL 드라이버에서 행 단위 스트리밍
+        streaming.setFetchSize(Integer.MIN_VALUE);
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            long[] exported = { 0L };
+            try {
+                streaming.query(EXPORT_SQL, rs -> {
+                    byte[] vector = rs.getBytes(8);
+                    DiaryExportRecord record = new DiaryExportRecord(
+                            rs.getLong(1),
+                            CompressedTextConverter.decode(rs.getBytes(2)),
+                            rs.getBoolean(3),
+                            CompressedTextConverter.decode(rs.getBytes(4)),
+                            CompressedTextConverter.decode(rs.getBytes(5)),
+                            tagsConverter.convertToEntityAttribute(rs.getString(6)),
+                            rs.getString(7),
+                            vector == null || vector.length == 0 ? null : EmotionVector.fromBytes(vector).toArray(),
+                            rs.getString(9),
+                            rs.getString(10),
+                            rs.getObject(11, LocalDateTime.class),
+                            rs.getObject(12, LocalDateTime.class));
+                    try {
+                        writer.writeValue(generator, record);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    exported[0]++;
+                }, user.getId());
+            } catch (UncheckedIOException e) {
+                // 클라이언트가 연결을 끊은 경우
+                throw e.getCause();
+            }
+
+            if (exported[0] > 0) {
+                generator.writeRaw('\n');
+            }
+            log.info("일기 내보내기 완료: 사용자 ID {}, {}건", user.getId(), exported[0]);
+        }
+    }
+
+    /**
+     * NDJSON 본문을 읽어 사용자 일기로 저장합니다.
+     * 청크마다 커밋하므로 중간에 실패해도 앞선 청크는 유지됩니다.
+     */
+    public DiaryImportResult importDiaries(User user, InputStream in) {
+        long imported = 0L;
+        long skipped = 0L;
+        List<ImportRow> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportRow row = parse(line);
+                if (row == null) {
+                    skipped++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= IMPORT_CHUNK_SIZE) {
+                    imported += insertChunk(user, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += insertChunk(user, chunk);
+            }
+        } catch (IOException e) {
+            log.error("일기 가져오기 중 읽기 오류 발생: {}건 저장 후 중단", imported, e);
+            throw new BusinessException("일기 가져오기에 실패했습니다. 저장된 일기: " + imported + "건", e);
+        }
+
+        log.info("일기 가져오기 완료: 사용자 ID {}, 저장 {}건, 건너뜀 {}건", user.getId(), imported, skipped);
+        return new DiaryImportResult(imported, skipped);
+    }
+
+    private ImportRow parse(String line) {
+        DiaryExportRecord record;
+        try {
+            record = objectMapper.readValue(line, DiaryExportRecord.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (record.content() == null || record.content().isBlank()) {
+            return null;
+        }
+
+        EmotionVector vector = null;
+        if (record.emotionVector() != null) {
+            if (record.emotionVector().length != EmotionVector.DIMENSIONS) {
+                return null;
+            }
+            vector = EmotionVector.of(record.emotionVector());
+        }
+        // 분석 결과가 없으면 분석 워커가 처리하도록 대기 상태로 저장
+        boolean analyzed = record.primaryEmotion() != null || vector != null;
+        LocalDateTime createdAt = record.createdAt() != null ? record.createdAt() : LocalDateTime.now();
+
+        return new ImportRow(
+                record.content(),
+                Boolean.TRUE.equals(record.isPublic()),
+                record.summary(),
+                record.feedback(),
+                new ArrayList<>(DiaryTagService.normalize(record.tags())),
+                record.primaryEmotion(),
+                vector,
+                analyzed ? "completed" : "pending",
+                record.imageUrl(),
+                createdAt,
+                record.updatedAt() != null ? record.updatedAt() : createdAt);
+    }
+
+    private int insertChunk(User user, List<ImportRow> rows) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_DIARY_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ImportRow row = rows.get(i);
+                            ps.setLong(1, user.getId());
+                            textConverter.bind(ps, 2, row.content());
+                            ps.setBoolean(3, row.isPublic());
+                            textConverter.bind(ps, 4, row.summary());
+                            textConverter.bind(ps, 5, row.feedback());
+                            ps.setString(6, tagsConverter.convertToDatabaseColumn(row.tags()));
+                            ps.setString(7, row.primaryEmotion());
+                            if (row.emotionVector() != null) {
+                                ps.setBytes(8, row.emotionVector().toBytes());
+                                ps.setFloat(9, row.emotionVector().intensity());
+                            } else {
+                                ps.setNull(8, Types.BINARY);
+                                ps.setNull(9, Types.FLOAT);
+                            }
+                            ps.setString(10, row.analysisStatus());
+                            if ("completed".equals(row.analysisStatus())) {
+                                ps.setTimestamp(11, Timestamp.valueOf(row.updatedAt()));
+                            } else {
+                                ps.setNull(11, Types.TIMESTAMP);
+                            }
+                            ps.setString(12, row.imageUrl());
+                            ps.setTimestamp(13, Timestamp.valueOf(row.createdAt()));
+                            ps.setTimestamp(14, Timestamp.valueOf(row.updatedAt()));
+                            ps.setString(15, Diary.previewOf(row.content()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keys);
+
+            List<Map<String, Object>> generated = keys.getKeyList();
+            List<Object[]> tagRows = new ArrayList<>();
+            List<EmotionStatsService.Contribution> contributions = new ArrayList<>();
+
+            for (int i = 0; i < rows.size(); i++) {
+                ImportRow row = rows.get(i);
+                long diaryId = ((Number) generated.get(i).values().iterator().next()).longValue();
+                Timestamp createdAt = Timestamp.valueOf(row.createdAt());
+
+                for (String tag : row.tags()) {
+                    tagRows.add(new Object[] { tag, diaryId, row.isPublic(), createdAt });
+                }
+                if (row.primaryEmotion() != null || row.emotionVector() != null) {
+                    contributions.add(new EmotionStatsService.Contribution(user.getId(),
+                            row.createdAt().toLocalDate(), row.primaryEmotion(), row.emotionVector()));
+                }
+                // 커밋 후 검색/유사도 색인 반영
+                eventPublisher.publishEvent(new DiaryChangedEvent(DiaryChangedEvent.Type.CREATED, diaryId,
+                        user.getId(), row.isPublic(), row.primaryEmotion(), row.emotionVector(),
+                        true, row.content(), row.summary()));
+            }
+
+            if (!tagRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TAG_SQL, tagRows);
+            }
+            emotionStatsService.addAll(contributions);
+            return rows.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+}
@@ -0,0 +1,108 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.CursorPage;
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.diary.config.DiaryFeedProperties;
+import com.diary.api.domain.diary.dto.DiaryCursor;
+import com.diary.api.domain.diary.dto.DiaryDto;
+import com.diary.api.domain.diary.dto.DiaryListView;
+import com.diary.api.domain.diary.event.DiaryChangedEvent;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 감정별 공개 일기 피드
+ * 최근 페이지를 TTL 이 있는 메모리 캐시에 두고, 같은 페이지에 대한 동시 요청은 조회 한 번을 함께 기다립니다.
+ * (Caffeine 이 키별로 로딩을 한 번만 실행하고, 실패하면 항목을 남기지 않음)
+ * 일기 변경이 커밋되면 해당 감정의 페이지와 그 일기를 담고 있는 페이지를 무효화합니다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class EmotionFeedService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DiaryRepository diaryRepository;
+    private final Cache<FeedKey, CursorPage<DiaryDto>> cache;
+
+    private record FeedKey(String emotion, String cursor, int size) {
+    }
+
+    public EmotionFeedService(DiaryRepository diaryRepository, DiaryFeedProperties properties,
+            MeterRegistry meterRegistry) {
+        this.diaryRepository = diaryRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(properties.getTtlSeconds()))
+                .maximumSize(properties.getMaximumPages())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "diary.feed");
+    }
+
+    /**
+     * 감정별 공개 일기를 최신순 커서 페이지로 조회합니다.
+     */
+    public CursorPage<DiaryDto> getFeed(String emotion, String cursor, int size) {
+        if (emotion == null || emotion.isBlank()) {
+            throw new ValidationException("감정을 입력해주세요.");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        FeedKey key = new FeedKey(emotion.trim(), cursor == null || cursor.isEmpty() ? null : cursor, pageSize);
+
+        return cache.get(key, this::load);
+    }
+
+    /**
+     * 일기 변경이 커밋되면 영향을 받는 페이지를 무효화합니다.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDiaryChanged(DiaryChangedEvent event) {
+        String emotion = event.isPublic() && event.type() != DiaryChangedEvent.Type.DELETED
+                ? event.primaryEmotion()
+                : null;
+
+        // 새 감정의 페이지 + 감정이 바뀌었거나 비공개/삭제된 경우 이전에 그 일기를 담고 있던 페이지
+        cache.asMap().keySet().removeIf(key -> key.emotion().equals(emotion));
+        cache.asMap().values().removeIf(page ->
+                page.getItems().stream().anyMatch(item -> item.getId().equals(event.diaryId())));
+    }
+
+    private CursorPage<DiaryDto> load(FeedKey key) {
+        PageRequest limit = PageRequest.of(0, key.size() + 1);
+
+        List<DiaryListView> diaries;
+        if (key.cursor() == null) {
+            diaries = diaryRepository.findPublicFeedFirstPage(key.emotion(), limit);
+        } else {
+            DiaryCursor after = DiaryCursor.decode(key.cursor());
+            diaries = diaryRepository.findPublicFeedPageAfter(key.emotion(), after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = diaries.size() > key.size();
+        if (hasNext) {
+            diaries = diaries.subList(0, key.size());
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            DiaryListView last = diaries.get(diaries.size() - 1);
+            nextCursor = new DiaryCursor(last.createdAt(), last.id()).encode();
+        }
+
+        return CursorPage.of(diaries.stream().map(DiaryDto::from).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,323 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.diary.dto.EmotionStatsDto;
+import com.diary.api.domain.diary.entity.Diary;
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.entity.UserEmotionDaily;
+import com.diary.api.domain.diary.repository.DiaryRepository;
+import com.diary.api.domain.diary.repository.UserEmotionDailyRepository;
+import com.diary.api.domain.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * user_emotion_daily 집계 유지 및 기간별 감정 통계 조회
+ * 일기 분석 완료/수정/삭제와 같은 트랜잭션에서 변화량만 반영하므로,
+ * 통계 조회는 기간 일수만큼의 집계 행만 읽습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class EmotionStatsService {
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+    private static final String BACKFILL_LOCK_NAME = "user_emotion_daily_backfill";
+
+    private final UserEmotionDailyRepository userEmotionDailyRepository;
+    private final DiaryRepository diaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+
+    /**
+     * 일기 한 건이 집계에 기여하는 값. 감정 분석 결과가 없으면 기여하지 않습니다.
+     */
+    public record Contribution(Long userId, LocalDate date, String emotion, EmotionVector vector) {
+
+        public static Contribution of(Diary diary) {
+            if (diary.getUser() == null || diary.getCreatedAt() == null
+                    || (diary.getPrimaryEmotion() == null && diary.getEmotionVector() == null)) {
+                return null;
+            }
+            return new Contribution(diary.getUser().getId(), diary.getCreatedAt().toLocalDate(),
+                    diary.getPrimaryEmotion(), diary.getEmotionVector());
+        }
+    }
+
+    private record Key(Long userId, LocalDate date) {
+    }
+
+    // 사용자/날짜 하나에 대한 누적 변화량
+    private static final class Delta {
+        int diaries;
+        int vectors;
+        final Map<String, Integer> emotions = new HashMap<>();
+        final float[] sums = new float[EmotionVector.DIMENSIONS];
+
+        void add(Contribution contribution, int sign) {
+            diaries += sign;
+            if (contribution.emotion() != null) {
+                emotions.merge(contribution.emotion(), sign, Integer::sum);
+            }
+            if (contribution.vector() != null) {
+                vectors += sign;
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += sign * contribution.vector().get(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * 일기 변경 전후의 기여분 차이를 집계에 반영합니다. 호출한 쪽 트랜잭션에 참여합니다.
+     */
+    @Transactional
+    public void apply(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Map<Key, Delta> deltas = new LinkedHashMap<>();
+        accumulate(deltas, before, -1);
+        accumulate(deltas, after, 1);
+        flush(deltas);
+    }
+
+    /**
+     * 새로 추가된 일기들의 기여분을 사용자/날짜별로 묶어 한 번씩 반영합니다.
+     */
+    @Transactional
+    public void addAll(Collection<Contribution> contributions) {
+        Map<Key, Delta> deltas = new LinkedHashMap<>();
+        contributions.forEach(contribution -> accumulate(deltas, contribution, 1));
+        flush(deltas);
+    }
+
+    /**
+     * 삭제되는 일기들의 기여분을 사용자/날짜별로 묶어 한 번씩 뺍니다.
+     */
+    @Transactional
+    public void removeAll(Collection<Contribution> contributions) {
+        Map<Key, Delta> deltas = new LinkedHashMap<>();
+        contributions.forEach(contribution -> accumulate(deltas, contribution, -1));
+        flush(deltas);
+    }
+
+    public EmotionStatsDto getWeekly(User user, LocalDate date) {
+        LocalDate base = date == null ? LocalDate.now() : date;
+        LocalDate from = base.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getStats(user, from, from.plusDays(6));
+    }
+
+    public EmotionStatsDto getMonthly(User user, YearMonth month) {
+        YearMonth target = month == null ? YearMonth.now() : month;
+        return getStats(user, target.atDay(1), target.atEndOfMonth());
+    }
+
+    private EmotionStatsDto getStats(User user, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ValidationException("조회 기간이 올바르지 않습니다.");
+        }
+
+        List<UserEmotionDaily> rows = userEmotionDailyRepository
+                .findByUserIdAndStatDateBetweenOrderByStatDateAsc(user.getId(), from, to);
+
+        int diaryCount = 0;
+        int vectorCount = 0;
+        Map<String, Integer> emotionCounts = new HashMap<>();
+        float[] sums = new float[EmotionVector.DIMENSIONS];
+        List<EmotionStatsDto.Daily> days = new ArrayList<>(rows.size());
+
+        for (UserEmotionDaily row : rows) {
+            if (row.getDiaryCount() <= 0) {
+                continue;
+            }
+            diaryCount += row.getDiaryCount();
+            vectorCount += row.getVectorCount();
+            if (row.getEmotionCounts() != null) {
+                row.getEmotionCounts().forEach((emotion, count) -> emotionCounts.merge(emotion, count, Integer::sum));
+            }
+            if (row.getVectorSum() != null) {
+                for (int i = 0; i < sums.length; i++) {
+                    sums[i] += row.getVectorSum().get(i);
+                }
+            }
+
+            days.add(EmotionStatsDto.Daily.builder()
+                    .date(row.getStatDate())
+                    .diaryCount(row.getDiaryCount())
+                    .emotionCounts(row.getEmotionCounts())
+                    .dominantEmotion(dominant(row.getEmotionCounts()))
+                    .averageVector(row.getVectorSum() == null ? null
+                            : average(row.getVectorSum().toArray(), row.getVectorCount()))
+                    .build());
+        }
+
+        return EmotionStatsDto.builder()
+                .from(from)
+                .to(to)
+                .diaryCount(diaryCount)
+                .emotionCounts(emotionCounts)
+                .dominantEmotion(dominant(emotionCounts))
+                .averageVector(average(sums, vectorCount))
+                .days(days)
+                .build();
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 기존 일기로부터 채웁니다.
+     * 여러 인스턴스가 동시에 시작해도 한 곳에서만 실행되도록 DB 잠금(GET_LOCK)을 잡고 다시 확인하며,
+     * 시작 시점의 최대 일기 id 까지만 반영합니다. 그 뒤에 생긴 일기는 생성 트랜잭션에서 이미 집계에 더해집니다.
+     * 청크마다 사용자/날짜별로 묶어 별도 트랜잭션으로 반영합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (userEmotionDailyRepository.count() > 0) {
+            return;
+        }
+
+        // 잠금은 커넥션 단위이므로 백필이 끝날 때까지 같은 커넥션을 유지
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!acquireLock(lockConnection)) {
+                log.info("다른 인스턴스가 감정 통계 집계 백필 중이므로 건너뜁니다.");
+                return;
+            }
+            try {
+                if (userEmotionDailyRepository.count() == 0) {
+                    backfill();
+                }
+            } finally {
+                releaseLock(lockConnection);
+            }
+        } catch (SQLException e) {
+            log.error("감정 통계 집계 백필 잠금 실패", e);
+        }
+    }
+
+    private void backfill() {
+        Long highWater = diaryRepository.findMaxId();
+        if (highWater == null) {
+            return;
+        }
+
+        long lastId = 0L;
+        long processed = 0L;
+        while (lastId < highWater) {
+            final long from = lastId;
+            List<Object[]> chunk = transactionTemplate.execute(status -> {
+                List<Object[]> rows = diaryRepository.findEmotionRowsForBackfill(from, highWater,
+                        BACKFILL_CHUNK_SIZE);
+                Map<Key, Delta> deltas = new LinkedHashMap<>();
+                rows.forEach(row -> accumulate(deltas, contributionOf(row), 1));
+                flush(deltas);
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            lastId = ((Number) chunk.get(chunk.size() - 1)[0]).longValue();
+            processed += chunk.size();
+        }
+
+        if (processed > 0) {
+            log.info("감정 통계 집계 백필 완료: 일기 {}건 (id {} 까지)", processed, highWater);
+        }
+    }
+
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, BACKFILL_LOCK_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private static void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, BACKFILL_LOCK_NAME);
+            statement.executeQuery().close();
+        }
+    }
+
+    // (id, user_id, created_at, primary_emotion, emotion_vector_bin) 행의 기여분
+    private static Contribution contributionOf(Object[] row) {
+        String emotion = (String) row[3];
+        byte[] vector = (byte[]) row[4];
+        if (row[2] == null || (emotion == null && (vector == null || vector.length == 0))) {
+            return null;
+        }
+        LocalDateTime createdAt = row[2] instanceof LocalDateTime dateTime
+                ? dateTime
+                : ((Timestamp) row[2]).toLocalDateTime();
+        return new Contribution(((Number) row[1]).longValue(), createdAt.toLocalDate(), emotion,
+                vector == null || vector.length == 0 ? null : EmotionVector.fromBytes(vector));
+    }
+
+    private static void accumulate(Map<Key, Delta> deltas, Contribution contribution, int sign) {
+        if (contribution == null) {
+            return;
+        }
+        deltas.computeIfAbsent(new Key(contribution.userId(), contribution.date()), key -> new Delta())
+                .add(contribution, sign);
+    }
+
+    // 행을 보장한 뒤 잠그고 변화량을 더합니다. 남은 일기가 없는 행은 삭제합니다.
+    private void flush(Map<Key, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            userEmotionDailyRepository.insertIfAbsent(key.userId(), key.date());
+            UserEmotionDaily daily = userEmotionDailyRepository.findForUpdate(key.userId(), key.date())
+                    .orElseThrow(() -> new IllegalStateException("감정 통계 집계 행을 찾을 수 없습니다."));
+            daily.apply(delta.diaries, delta.vectors, delta.emotions, delta.sums);
+            if (daily.getDiaryCount() <= 0) {
+                userEmotionDailyRepository.delete(daily);
+            }
+        });
+    }
+
+    private static String dominant(Map<String, Integer> counts) {
+        if (counts == null || counts.isEmpty()) {
+            return null;
+        }
+        return counts.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    private static float[] average(float[] sums, int count) {
+        if (count <= 0) {
+            return null;
+        }
+        float[] result = new float[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            result[i] = sums[i] / count;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,135 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.entity.EmotionVector;
+import com.diary.api.domain.diary.entity.converter.EmotionVectorConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기존 JSON emotion_vector 값을 emotion_vector_bin 바이너리 컬럼으로 옮기는 마이그레이션
+ * 기동 시 한 번 실행되며, 배치마다 별도 트랜잭션으로 커밋하므로 중간에 중단돼도 이어서 진행됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmotionVectorMigrationService {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LEGACY_COLUMN_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'diaries' AND column_name = 'emotion_vector'";
+
+    private static final String SELECT_BATCH_SQL = "SELECT id, emotion_vector FROM diaries " +
+            "WHERE id > ? AND emotion_vector IS NOT NULL AND emotion_vector_bin IS NULL " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_SQL = "UPDATE diaries SET emotion_vector_bin = ? WHERE id = ?";
+
+    private static final String SELECT_INTENSITY_BATCH_SQL = "SELECT id, emotion_vector_bin FROM diaries " +
+            "WHERE id > ? AND emotion_vector_bin IS NOT NULL AND emotion_intensity IS NULL " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_INTENSITY_SQL = "UPDATE diaries SET emotion_intensity = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmotionVectorConverter legacyConverter = new EmotionVectorConverter();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(LEGACY_COLUMN_EXISTS_SQL, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        long lastId = 0L;
+        long migrated = 0L;
+        while (true) {
+            BatchResult result = migrateBatch(lastId);
+            if (result == null) {
+                break;
+            }
+            migrated += result.converted();
+            lastId = result.lastId();
+        }
+
+        if (migrated > 0) {
+            log.info("감정 벡터 바이너리 마이그레이션 완료: {}건", migrated);
+        }
+    }
+
+    /**
+     * 감정 강도 컬럼이 비어 있는 일기를 벡터로부터 채웁니다. 바이너리 변환이 끝난 뒤 실행됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void backfillIntensity() {
+        long lastId = 0L;
+        long filled = 0L;
+        while (true) {
+            final long from = lastId;
+            BatchResult result = transactionTemplate.execute(status -> {
+                List<Object[]> updates = new ArrayList<>(BATCH_SIZE);
+                jdbcTemplate.query(SELECT_INTENSITY_BATCH_SQL, rs -> {
+                    byte[] bytes = rs.getBytes(2);
+                    updates.add(new Object[] { EmotionVector.fromBytes(bytes).intensity(), rs.getLong(1) });
+                }, from, BATCH_SIZE);
+
+                if (updates.isEmpty()) {
+                    return null;
+                }
+                jdbcTemplate.batchUpdate(UPDATE_INTENSITY_SQL, updates);
+                return new BatchResult((long) updates.get(updates.size() - 1)[1], updates.size());
+            });
+            if (result == null) {
+                break;
+            }
+            filled += result.converted();
+            lastId = result.lastId();
+        }
+
+        if (filled > 0) {
+            log.info("감정 강도 백필 완료: {}건", filled);
+        }
+    }
+
+    /**
+     * 한 배치를 변환합니다. 더 이상 대상이 없으면 null 을 반환합니다.
+     */
+    private BatchResult migrateBatch(long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<Object[]> updates = new ArrayList<>(BATCH_SIZE);
+            List<Long> ids = new ArrayList<>(BATCH_SIZE);
+
+            jdbcTemplate.query(SELECT_BATCH_SQL, rs -> {
+                long id = rs.getLong(1);
+                List<Double> values = legacyConverter.convertToEntityAttribute(rs.getString(2));
+                ids.add(id);
+                if (!values.isEmpty()) {
+                    updates.add(new Object[] { EmotionVector.fromDoubles(values).toBytes(), id });
+                }
+            }, afterId, BATCH_SIZE);
+
+            if (ids.isEmpty()) {
+                return null;
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            return new BatchResult(ids.get(ids.size() - 1), updates.size());
+        });
+    }
+
+    private record BatchResult(long lastId, int converted) {
+    }
+}
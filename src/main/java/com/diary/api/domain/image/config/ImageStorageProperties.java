@@ -0,0 +1,25 @@
+package com.diary.api.domain.image.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "diary.image")
+@Configuration
+public class ImageStorageProperties {
+    // 이미지 저장 디렉터리
+    private String directory = "./data/images";
+    // 업로드 최대 크기
+    private long maxFileSizeBytes = 10L * 1024 * 1024;
+    // 생성할 썸네일 가로 크기(px)
+    private List<Integer> thumbnailWidths = List.of(160, 480, 1080);
+    // 썸네일 생성 스레드 수
+    private int thumbnailThreads = 2;
+    // 썸네일을 만들 원본 최대 픽셀 수 (압축 폭탄 방지)
+    private long maxSourcePixels = 40_000_000L;
+}
@@ -0,0 +1,26 @@
+package com.diary.api.domain.image.config;
+
+import jakarta.servlet.MultipartConfigElement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@RequiredArgsConstructor
+public class ImageUploadConfig {
+    private final ImageStorageProperties properties;
+
+    /**
+     * 업로드 파트는 크기와 관계없이 곧바로 임시 파일로 받아 힙에 올리지 않습니다.
+     */
+    @Bean
+    public MultipartConfigElement multipartConfigElement() {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(DataSize.ofBytes(properties.getMaxFileSizeBytes()));
+        factory.setMaxRequestSize(DataSize.ofBytes(properties.getMaxFileSizeBytes() + 64 * 1024));
+        factory.setFileSizeThreshold(DataSize.ofBytes(0));
+        return factory.createMultipartConfig();
+    }
+}
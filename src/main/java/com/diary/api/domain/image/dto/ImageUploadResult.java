@@ -0,0 +1,10 @@
+package com.diary.api.domain.image.dto;
+
+import java.util.Map;
+
+/**
+ * 업로드 결과. url 을 일기의 imageUrl 로 사용하고, 썸네일은 url 에 ?w=가로크기 를 붙여 요청합니다.
+ * 썸네일은 비동기로 만들어지므로 준비 전에는 원본이 응답됩니다.
+ */
+public record ImageUploadResult(String url, long size, String contentType, Map<Integer, String> thumbnails) {
+}
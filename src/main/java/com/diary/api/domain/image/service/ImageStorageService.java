@@ -0,0 +1,400 @@
+package com.diary.api.domain.image.service;
+
+import com.diary.api.common.exception.BusinessException;
+import com.diary.api.common.exception.ResourceNotFoundException;
+import com.diary.api.common.exception.ValidationException;
+import com.diary.api.domain.image.config.ImageStorageProperties;
+import com.diary.api.domain.image.dto.ImageUploadResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 내용 주소(SHA-256) 기반 로컬 이미지 저장소
+ * 업로드는 임시 파일로 스트리밍하며 해시를 계산한 뒤 해시 경로로 옮기므로 같은 이미지는 한 번만 저장됩니다.
+ * 썸네일은 정해진 가로 크기별로 별도 스레드에서 만듭니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStorageService {
+    public static final String URL_PREFIX = "/api/images/";
+
+    private final ImageStorageProperties properties;
+
+    private Path originals;
+    private Path thumbnails;
+    private Path temp;
+    private ExecutorService executor;
+
+    /**
+     * 저장 가능한 이미지 형식. 썸네일은 투명도를 살려야 하는 형식만 PNG 로 만듭니다.
+     */
+    public enum ImageFormat {
+        JPEG("jpg", MediaType.IMAGE_JPEG, "jpg"),
+        PNG("png", MediaType.IMAGE_PNG, "png"),
+        GIF("gif", MediaType.IMAGE_GIF, "png"),
+        WEBP("webp", MediaType.parseMediaType("image/webp"), "jpg");
+
+        private final String extension;
+        private final MediaType mediaType;
+        private final String thumbnailExtension;
+
+        ImageFormat(String extension, MediaType mediaType, String thumbnailExtension) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+            this.thumbnailExtension = thumbnailExtension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static ImageFormat fromExtension(String extension) {
+            for (ImageFormat format : values()) {
+                if (format.extension.equals(extension)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+
+        // 파일 앞부분의 시그니처로 형식을 판별
+        static ImageFormat detect(byte[] head, int length) {
+            if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+                return JPEG;
+            }
+            if (length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+                return PNG;
+            }
+            if (length >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+                return GIF;
+            }
+            if (length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                    && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+                return WEBP;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 응답할 이미지 파일. immutable 이 false 면 썸네일 대신 원본을 임시로 응답하는 경우입니다.
+     */
+    public record ImageFile(Path path, MediaType contentType, String etag, boolean immutable) {
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Path root = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+        originals = Files.createDirectories(root.resolve("originals"));
+        thumbnails = Files.createDirectories(root.resolve("thumbnails"));
+        temp = Files.createDirectories(root.resolve("tmp"));
+
+        AtomicInteger sequence = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getThumbnailThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "image-thumbnail-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 업로드 파일을 저장하고 URL 을 반환합니다. 파일 내용은 힙에 올리지 않고 디스크로만 복사합니다.
+     */
+    public ImageUploadResult store(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ValidationException("업로드할 이미지가 없습니다.");
+        }
+        if (file.getSize() > properties.getMaxFileSizeBytes()) {
+            throw new ValidationException("이미지 크기가 너무 큽니다.");
+        }
+
+        Path upload = null;
+        try {
+            upload = Files.createTempFile(temp, "upload-", ".part");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            ImageFormat format = detect(upload);
+            if (format == null) {
+                throw new ValidationException("지원하지 않는 이미지 형식입니다. (jpg, png, gif, webp)");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = originalPath(hash, format);
+            if (Files.exists(target)) {
+                // 같은 이미지가 이미 있음
+                Files.deleteIfExists(upload);
+            } else {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(upload, target);
+            }
+            upload = null;
+
+            scheduleThumbnails(hash, format, target);
+            return toResult(hash, format, size);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            log.error("이미지 저장 중 오류 발생", e);
+            throw new BusinessException("이미지 저장에 실패했습니다.", e);
+        } finally {
+            if (upload != null) {
+                try {
+                    Files.deleteIfExists(upload);
+                } catch (IOException e) {
+                    log.warn("임시 업로드 파일 삭제 실패: {}", upload, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 원본 또는 가로 width 썸네일을 찾습니다. 썸네일이 아직 없으면 원본을 돌려줍니다.
+     */
+    public ImageFile open(String hash, String extension, Integer width) {
+        ImageFormat format = ImageFormat.fromExtension(extension);
+        if (format == null) {
+            throw new ResourceNotFoundException("이미지를 찾을 수 없습니다.");
+        }
+        Path original = originalPath(hash, format);
+        if (!Files.isRegularFile(original)) {
+            throw new ResourceNotFoundException("이미지를 찾을 수 없습니다.");
+        }
+        if (width == null) {
+            return new ImageFile(original, format.mediaType, "\"" + hash + "\"", true);
+        }
+        if (!properties.getThumbnailWidths().contains(width)) {
+            throw new ValidationException("지원하지 않는 썸네일 크기입니다: " + width);
+        }
+
+        Path thumbnail = thumbnailPath(hash, format, width);
+        if (Files.isRegularFile(thumbnail)) {
+            MediaType type = "png".equals(format.thumbnailExtension) ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG;
+            return new ImageFile(thumbnail, type, "\"" + hash + "-" + width + "\"", true);
+        }
+        return new ImageFile(original, format.mediaType, "\"" + hash + "\"", false);
+    }
+
+    public static String url(String hash, ImageFormat format) {
+        return URL_PREFIX + hash + "." + format.extension();
+    }
+
+    private ImageUploadResult toResult(String hash, ImageFormat format, long size) {
+        String url = url(hash, format);
+        Map<Integer, String> thumbnailUrls = new LinkedHashMap<>();
+        for (Integer width : properties.getThumbnailWidths()) {
+            thumbnailUrls.put(width, url + "?w=" + width);
+        }
+        return new ImageUploadResult(url, size, format.mediaType.toString(), thumbnailUrls);
+    }
+
+    private void scheduleThumbnails(String hash, ImageFormat format, Path source) {
+        boolean missing = properties.getThumbnailWidths().stream()
+                .anyMatch(width -> !Files.exists(thumbnailPath(hash, format, width)));
+        if (!missing) {
+            return;
+        }
+        try {
+            executor.execute(() -> generateThumbnails(hash, format, source));
+        } catch (RejectedExecutionException e) {
+            log.warn("썸네일 생성 작업이 거부되었습니다: {}", hash);
+        }
+    }
+
+    private void generateThumbnails(String hash, ImageFormat format, Path source) {
+        BufferedImage image;
+        try {
+            image = readBounded(source);
+        } catch (IOException e) {
+            log.warn("썸네일용 이미지 읽기 실패: {}", hash, e);
+            return;
+        }
+        if (image == null) {
+            log.debug("썸네일을 만들 수 없는 이미지: {} ({})", hash, format);
+            return;
+        }
+
+        for (Integer width : properties.getThumbnailWidths()) {
+            Path target = thumbnailPath(hash, format, width);
+            if (Files.exists(target)) {
+                continue;
+            }
+            Path part = null;
+            try {
+                // 원본보다 크게 늘리지는 않고 같은 크기로 다시 인코딩
+                BufferedImage scaled = scale(image, Math.min(width, image.getWidth()),
+                        "png".equals(format.thumbnailExtension));
+                Files.createDirectories(target.getParent());
+                part = Files.createTempFile(temp, "thumb-", ".part");
+                write(scaled, format.thumbnailExtension, part);
+                moveIntoPlace(part, target);
+                part = null;
+            } catch (IOException e) {
+                log.warn("썸네일 생성 실패: {} {}px", hash, width, e);
+            } finally {
+                if (part != null) {
+                    try {
+                        Files.deleteIfExists(part);
+                    } catch (IOException ignored) {
+                        // 다음 정리 때 삭제
+                    }
+                }
+            }
+        }
+    }
+
+    // 크기를 먼저 확인해 지나치게 큰 이미지는 디코딩하지 않음
+    private BufferedImage readBounded(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > properties.getMaxSourcePixels()) {
+                    log.warn("이미지가 너무 커서 썸네일을 만들지 않습니다: {}px", pixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 절반씩 줄여 가며 축소해 한 번에 크게 줄일 때 생기는 계단 현상을 줄임
+    private static BufferedImage scale(BufferedImage source, int width, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, nextWidth, nextHeight);
+                }
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth != width);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String extension, Path target) throws IOException {
+        String formatName = "png".equals(extension) ? "png" : "jpeg";
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(formatName).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(formatName)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(0.85f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static ImageFormat detect(Path file) throws IOException {
+        byte[] head = new byte[12];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read = in.readNBytes(head, 0, head.length);
+            return ImageFormat.detect(head, read);
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 같은 파일을 올린 경우
+            Files.deleteIfExists(source);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // 한 디렉터리에 파일이 몰리지 않도록 해시 앞 두 글자로 나눔
+    private Path originalPath(String hash, ImageFormat format) {
+        return originals.resolve(hash.substring(0, 2)).resolve(hash + "." + format.extension);
+    }
+
+    private Path thumbnailPath(String hash, ImageFormat format, int width) {
+        return thumbnails.resolve(String.valueOf(width)).resolve(hash.substring(0, 2))
+                .resolve(hash + "." + format.thumbnailExtension);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.diary.api.domain.llm.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "llm")
+@Configuration
+public class LlmProperties {
+    // 동시에 진행할 수 있는 최대 호출 수 (스트리밍 포함)
+    private int maxConcurrentCalls = 16;
+    // 호출 슬롯을 기다릴 최대 시간
+    private long acquireTimeoutMs = 2000;
+    // 유지할 유휴 커넥션 수와 유지 시간
+    private int maxIdleConnections = 8;
+    private long keepAliveMinutes = 5;
+    // openai.timeout.* 이 없을 때 쓸 기본 타임아웃 (초)
+    private int defaultConnectTimeoutSeconds = 10;
+    private int defaultReadTimeoutSeconds = 60;
+    private int defaultWriteTimeoutSeconds = 30;
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        // 최근 몇 번의 호출로 실패율을 계산할지
+        private int windowSize = 20;
+        // 실패율 계산에 필요한 최소 호출 수
+        private int minimumCalls = 10;
+        // 이 비율 이상 실패하면 차단
+        private double failureRateThreshold = 0.5;
+        // 차단 후 시험 호출을 허용하기까지 기다릴 시간
+        private long openDurationMs = 30_000;
+    }
+}
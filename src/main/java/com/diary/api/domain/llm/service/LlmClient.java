@@ -0,0 +1,245 @@
+package com.diary.api.domain.llm.service;
+
+import com.diary.api.common.exception.ServiceUnavailableException;
+import com.diary.api.domain.llm.config.LlmProperties;
+import com.diary.api.domain.user.config.OpenAIConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.OpenAiHttpException;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.chat.ChatCompletionChunk;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.Flowable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import retrofit2.Retrofit;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 모든 AI 기능이 공유하는 OpenAI 클라이언트
+ * OkHttp 커넥션 풀과 디스패처를 한 번만 만들어 재사용하고, openai.timeout.* (초) 을 적용합니다.
+ * 동시 호출 수를 세마포어로 제한하고, 실패가 몰리면 서킷 브레이커로 잠시 호출을 막습니다.
+ * 기능(feature)별로 지연 시간, 토큰 사용량, 오류 수를 기록합니다.
+ */
+@Slf4j
+@Component
+public class LlmClient {
+    private static final String UNAVAILABLE_MESSAGE = "AI 서비스가 일시적으로 혼잡합니다. 잠시 후 다시 시도해주세요.";
+
+    private final OpenAIConfig openAIConfig;
+    private final LlmProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final OkHttpClient httpClient;
+    private final OpenAiService service;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public LlmClient(OpenAIConfig openAIConfig, LlmProperties properties, MeterRegistry meterRegistry,
+                     Environment environment) {
+        this.openAIConfig = openAIConfig;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        OpenAIConfig.Timeout timeout = openAIConfig.getTimeout();
+        // 스트리밍 응답은 디스패처 스레드에서 읽으므로 가상 스레드 모드에서는 디스패처도 가상 스레드로 실행
+        Dispatcher dispatcher = Threading.VIRTUAL.isActive(environment)
+                ? new Dispatcher(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llm-http-", 0).factory()))
+                : new Dispatcher();
+        // 동시 호출 상한은 세마포어가 정하므로 디스패처 대기열에 다시 막히지 않게 맞춤
+        dispatcher.setMaxRequests(properties.getMaxConcurrentCalls());
+        dispatcher.setMaxRequestsPerHost(properties.getMaxConcurrentCalls());
+
+        this.httpClient = OpenAiService.defaultClient(openAIConfig.getApiKey(),
+                        Duration.ofSeconds(seconds(timeout.getRead(), properties.getDefaultReadTimeoutSeconds())))
+                .newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(properties.getMaxIdleConnections(),
+                        properties.getKeepAliveMinutes(), TimeUnit.MINUTES))
+                .connectTimeout(Duration.ofSeconds(seconds(timeout.getConnect(), properties.getDefaultConnectTimeoutSeconds())))
+                .readTimeout(Duration.ofSeconds(seconds(timeout.getRead(), properties.getDefaultReadTimeoutSeconds())))
+                .writeTimeout(Duration.ofSeconds(seconds(timeout.getWrite(), properties.getDefaultWriteTimeoutSeconds())))
+                .build();
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        Retrofit retrofit = OpenAiService.defaultRetrofit(httpClient, mapper);
+        this.service = new OpenAiService(retrofit.create(OpenAiApi.class), httpClient.dispatcher().executorService());
+
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls(), true);
+        LlmProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        this.circuitBreaker = new CircuitBreaker(breaker.getWindowSize(), breaker.getMinimumCalls(),
+                breaker.getFailureRateThreshold(), breaker.getOpenDurationMs());
+
+        Gauge.builder("llm.in_flight", bulkhead, b -> properties.getMaxConcurrentCalls() - b.availablePermits())
+                .description("진행 중인 LLM 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("llm.circuit.open", circuitBreaker, b -> b.state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("서킷 브레이커가 열려 있으면 1")
+                .register(meterRegistry);
+    }
+
+    /**
+     * openai.* 설정의 모델, 최대 토큰, 온도를 채운 요청 빌더
+     */
+    public ChatCompletionRequest.ChatCompletionRequestBuilder requestBuilder() {
+        return ChatCompletionRequest.builder()
+                .model(openAIConfig.getModel())
+                .maxTokens(openAIConfig.getMaxTokens())
+                .temperature(openAIConfig.getTemperature());
+    }
+
+    /**
+     * complete 한 번이 걸릴 수 있는 최대 시간 (슬롯 대기 + 연결/쓰기/읽기 타임아웃)
+     */
+    public Duration maxCallDuration() {
+        return Duration.ofMillis(properties.getAcquireTimeoutMs()
+                + httpClient.connectTimeoutMillis()
+                + httpClient.writeTimeoutMillis()
+                + httpClient.readTimeoutMillis());
+    }
+
+    /**
+     * 응답 전체를 기다리는 호출. 혼잡하거나 차단 중이면 ServiceUnavailableException 을 던집니다.
+     */
+    public ChatCompletionResult complete(String feature, ChatCompletionRequest request) {
+        acquire(feature);
+        long started = System.nanoTime();
+        try {
+            ChatCompletionResult result = service.createChatCompletion(request);
+            circuitBreaker.onSuccess();
+            record(feature, "success", started);
+            if (result.getUsage() != null) {
+                countTokens(feature, "prompt", result.getUsage().getPromptTokens());
+                countTokens(feature, "completion", result.getUsage().getCompletionTokens());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            onError(feature, started, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * 스트리밍 호출. 구독할 때 슬롯을 잡고 완료/오류/취소 시 돌려줍니다.
+     * 슬롯을 얻지 못하면 ServiceUnavailableException 으로 onError 가 호출됩니다.
+     * 스트리밍 응답에는 토큰 사용량이 오지 않으므로 지연 시간과 오류만 기록합니다.
+     */
+    public Flowable<ChatCompletionChunk> stream(String feature, ChatCompletionRequest request) {
+        return Flowable.defer(() -> {
+            acquire(feature);
+            long started = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            };
+            return service.streamChatCompletion(request)
+                    .doOnComplete(() -> {
+                        circuitBreaker.onSuccess();
+                        record(feature, "success", started);
+                    })
+                    .doOnError(e -> onError(feature, started, e))
+                    .doOnCancel(() -> {
+                        circuitBreaker.onIgnored();
+                        record(feature, "cancelled", started);
+                    })
+                    .doFinally(release::run);
+        });
+    }
+
+    private void acquire(String feature) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejected(feature, "circuit_open");
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuitBreaker.onIgnored();
+            rejected(feature, "bulkhead_full");
+        }
+    }
+
+    private void rejected(String feature, String reason) {
+        Counter.builder("llm.rejected")
+                .description("혼잡/차단으로 거절된 LLM 호출 수")
+                .tag("feature", feature)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        throw new ServiceUnavailableException(UNAVAILABLE_MESSAGE);
+    }
+
+    private void onError(String feature, long started, Throwable error) {
+        if (isUpstreamFailure(error)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onIgnored();
+        }
+        record(feature, "error", started);
+        Counter.builder("llm.errors")
+                .description("LLM 호출 오류 수")
+                .tag("feature", feature)
+                .tag("type", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.warn("LLM 호출 실패: {} ({})", feature, error.toString());
+    }
+
+    // 요청 자체가 잘못된 4xx 는 서비스 장애로 보지 않음
+    private static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof OpenAiHttpException http) {
+            return http.statusCode >= 500 || http.statusCode == 429;
+        }
+        return true;
+    }
+
+    private void record(String feature, String outcome, long started) {
+        Timer.builder("llm.call")
+                .description("LLM 호출 지연 시간")
+                .tag("feature", feature)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private void countTokens(String feature, String type, long tokens) {
+        Counter.builder("llm.tokens")
+                .description("LLM 토큰 사용량")
+                .tag("feature", feature)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+
+    private static int seconds(Integer configured, int fallback) {
+        return configured == null || configured <= 0 ? fallback : configured;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        service.shutdownExecutor();
+        httpClient.connectionPool().evictAll();
+    }
+}
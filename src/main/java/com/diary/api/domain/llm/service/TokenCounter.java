@@ -0,0 +1,45 @@
+package com.diary.api.domain.llm.service;
+
+import com.diary.api.domain.user.config.OpenAIConfig;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 설정된 모델의 토크나이저로 프롬프트 토큰 수를 로컬에서 계산합니다.
+ * 메시지 하나마다 역할/구분자 토큰이 더 붙으므로 OpenAI 안내대로 고정 오버헤드를 더합니다.
+ */
+@Component
+public class TokenCounter {
+    // 메시지마다 붙는 구분 토큰 수
+    private static final int TOKENS_PER_MESSAGE = 4;
+    // 응답 시작을 위해 붙는 토큰 수
+    private static final int TOKENS_PER_REPLY = 3;
+
+    private final Encoding encoding;
+
+    public TokenCounter(OpenAIConfig openAIConfig) {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        String model = openAIConfig.getModel();
+        // 토크나이저를 모르는 모델이면 GPT-3.5/4 계열 인코딩으로 근사
+        this.encoding = Optional.ofNullable(model)
+                .flatMap(registry::getEncodingForModel)
+                .orElseGet(() -> registry.getEncoding(EncodingType.CL100K_BASE));
+    }
+
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    public int countMessage(String role, String content) {
+        return TOKENS_PER_MESSAGE + count(role) + count(content);
+    }
+
+    public int replyOverhead() {
+        return TOKENS_PER_REPLY;
+    }
+}
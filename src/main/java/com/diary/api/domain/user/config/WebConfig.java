@@ -3,6 +3,7 @@ package com.diary.api.domain.user.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.ForwardedHeaderFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,6 +16,12 @@ public class WebConfig implements WebMvcConfigurer {
         return new ForwardedHeaderFilter();
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // 대량 내보내기 같은 스트리밍 응답이 기본 타임아웃(30초)에 끊기지 않도록
+        configurer.setDefaultTimeout(30 * 60 * 1000L);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
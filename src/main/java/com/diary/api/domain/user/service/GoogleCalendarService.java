@@ -3,6 +3,7 @@ package com.diary.api.domain.user.service;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.DateTime;
@@ -23,6 +24,7 @@ import java.security.GeneralSecurityException;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,6 +34,14 @@ public class GoogleCalendarService {
 
     private final OAuth2AuthorizedClientService authorizedClientService;
     private static final String APPLICATION_NAME = "Emotion Diary";
+    // 외부 API 응답을 무한정 기다리며 요청 스레드를 잡지 않도록 제한
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 20_000;
+
+    // 신뢰 저장소 로딩 비용이 커서 요청마다 만들지 않고 공유 (스레드 안전)
+    private static volatile NetHttpTransport httpTransport;
+    // 초기화 중 파일을 읽으므로 가상 스레드가 캐리어에 고정되지 않도록 synchronized 대신 사용
+    private static final ReentrantLock TRANSPORT_LOCK = new ReentrantLock();
 
     /**
      * 현재 로그인된 사용자의 지난 한 달간 구글 캘린더 일정을 가져옵니다.
@@ -86,12 +96,33 @@ public class GoogleCalendarService {
         OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
         Credential credential = new GoogleCredential().setAccessToken(accessToken.getTokenValue());
 
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        return new Calendar.Builder(httpTransport, GsonFactory.getDefaultInstance(), credential)
+        HttpRequestInitializer initializer = request -> {
+            credential.initialize(request);
+            request.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            request.setReadTimeout(READ_TIMEOUT_MS);
+        };
+        return new Calendar.Builder(httpTransport(), GsonFactory.getDefaultInstance(), initializer)
                 .setApplicationName(APPLICATION_NAME)
                 .build();
     }
 
+    private static NetHttpTransport httpTransport() throws GeneralSecurityException, IOException {
+        NetHttpTransport transport = httpTransport;
+        if (transport == null) {
+            TRANSPORT_LOCK.lock();
+            try {
+                transport = httpTransport;
+                if (transport == null) {
+                    transport = GoogleNetHttpTransport.newTrustedTransport();
+                    httpTransport = transport;
+                }
+            } finally {
+                TRANSPORT_LOCK.unlock();
+            }
+        }
+        return transport;
+    }
+
     // Google의 Event 모델을 우리의 DTO로 변환하는 헬퍼 메소드
     private CalendarEventDto convertToDto(Event event) {
         String id = event.getId();
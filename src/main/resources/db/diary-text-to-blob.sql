@@ -0,0 +1,8 @@
+-- 일기 본문/요약/피드백 압축 저장 전환 (diary.storage.compress-text)
+-- 테이블 전체를 다시 쓰므로 기동 시 자동으로 실행하지 않습니다.
+-- 트래픽이 적은 시간에 직접 실행하거나 pt-online-schema-change / gh-ost 로 적용한 뒤 설정을 켭니다.
+-- TEXT -> BLOB 변환은 저장된 UTF-8 바이트를 그대로 유지하므로 기존 평문 행은 헤더 없는 값으로 읽힙니다.
+ALTER TABLE diaries
+    MODIFY content MEDIUMBLOB NOT NULL,
+    MODIFY summary MEDIUMBLOB NULL,
+    MODIFY feedback MEDIUMBLOB NULL;
@@ -0,0 +1,99 @@
+package com.diary.api.domain.chat.service;
+
+import com.diary.api.domain.chat.config.ChatCacheProperties;
+import com.diary.api.domain.llm.service.LlmClient;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatCompletionCacheTest {
+    private static final ChatCompletionRequest REQUEST = ChatCompletionRequest.builder()
+            .model("test")
+            .temperature(0.0)
+            .build();
+
+    private final ChatCompletionCache cache = newCache();
+
+    @Test
+    void returnsCachedResponseForNormalizedMessage() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = cache.get(REQUEST, "안녕  하세요", () -> "응답" + calls.incrementAndGet());
+        String second = cache.get(REQUEST, " 안녕 하세요 ", () -> "응답" + calls.incrementAndGet());
+
+        assertThat(first).isEqualTo("응답1");
+        assertThat(second).isEqualTo("응답1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() -> cache.get(REQUEST, "안녕", () -> {
+            calls.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "응답";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(
+                () -> cache.get(REQUEST, "안녕", () -> "다른 응답"));
+
+        release.countDown();
+
+        assertThat(owner.get(5, TimeUnit.SECONDS)).isEqualTo("응답");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("응답");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failedLoadIsNotCachedEvenForErrors() {
+        assertThatThrownBy(() -> cache.get(REQUEST, "안녕", () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> cache.get(REQUEST, "안녕", () -> {
+            throw new IllegalStateException("실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(REQUEST, "안녕", () -> "응답")).isEqualTo("응답");
+    }
+
+    @Test
+    void bypassesCacheForHighTemperature() {
+        ChatCompletionRequest creative = ChatCompletionRequest.builder().model("test").temperature(1.0).build();
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get(creative, "안녕", () -> "응답" + calls.incrementAndGet());
+        cache.get(creative, "안녕", () -> "응답" + calls.incrementAndGet());
+
+        assertThat(calls).hasValue(2);
+    }
+
+    private static ChatCompletionCache newCache() {
+        LlmClient llmClient = mock(LlmClient.class);
+        when(llmClient.maxCallDuration()).thenReturn(Duration.ofSeconds(5));
+        return new ChatCompletionCache(new ChatCacheProperties(), llmClient, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.diary.api.domain.chat.service;
+
+import com.diary.api.domain.chat.config.ChatContextProperties;
+import com.diary.api.domain.chat.dto.ChatDto;
+import com.diary.api.domain.chat.repository.ChatMessageRepository;
+import com.diary.api.domain.llm.service.LlmClient;
+import com.diary.api.domain.llm.service.TokenCounter;
+import com.theokanning.openai.completion.chat.ChatCompletionChoice;
+import com.theokanning.openai.completion.chat.ChatCompletionRequest;
+import com.theokanning.openai.completion.chat.ChatCompletionResult;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * OpenAI 응답을 기다리는 동안 대화 요청이 DB 커넥션을 잡고 있지 않은지 확인합니다.
+ * 커넥션 풀(2개)보다 많은 대화를 동시에 막아 두고 풀의 사용 중 커넥션 수를 봅니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=" + ChatServiceConnectionTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=1000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ ChatService.class, ChatContextService.class, ChatContextProperties.class,
+        ChatServiceConnectionTest.Config.class })
+class ChatServiceConnectionTest {
+    static final int POOL_SIZE = 2;
+    private static final int CONVERSATIONS = 8;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private LlmClient llmClient;
+
+    @MockBean
+    private TokenCounter tokenCounter;
+
+    @MockBean
+    private ChatCompletionCache chatCompletionCache;
+
+    private final CountDownLatch entered = new CountDownLatch(CONVERSATIONS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CONVERSATIONS);
+        chatMessageRepository.deleteAll();
+
+        when(tokenCounter.countMessage(anyString(), anyString())).thenReturn(10);
+        when(tokenCounter.replyOverhead()).thenReturn(3);
+        when(llmClient.requestBuilder()).thenAnswer(invocation -> ChatCompletionRequest.builder().model("test"));
+        when(llmClient.complete(eq("chat"), any())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(30, TimeUnit.SECONDS);
+            return result("응답");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void connectionPoolStaysFreeWhileConversationsWaitOnLlm() throws Exception {
+        List<Future<ChatDto.ChatCompletionResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            long userId = i + 1;
+            responses.add(executor.submit(() -> chatService.createConversation(userId, null, true,
+                    new ChatDto.ChatCompletionRequest("안녕"))));
+        }
+
+        // 풀보다 많은 대화가 모두 LLM 호출까지 도달해야 함 (커넥션을 잡고 있었다면 풀 고갈로 멈춤)
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        assertThat(hikari.getHikariPoolMXBean().getActiveConnections()).isZero();
+
+        release.countDown();
+        for (Future<ChatDto.ChatCompletionResponse> response : responses) {
+            ChatDto.ChatCompletionResponse completed = response.get(10, TimeUnit.SECONDS);
+            assertThat(completed.getResponse()).isEqualTo("응답");
+            assertThat(completed.getConversationHistory()).extracting(ChatDto.Message::getRole)
+                    .containsExactly("user", "assistant");
+        }
+        assertThat(chatMessageRepository.count()).isEqualTo(CONVERSATIONS * 2L);
+    }
+
+    private static ChatCompletionResult result(String content) {
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(new ChatMessage("assistant", content));
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
+    }
+}
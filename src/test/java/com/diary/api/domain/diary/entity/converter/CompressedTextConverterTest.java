@@ -0,0 +1,146 @@
+package com.diary.api.domain.diary.entity.converter;
+
+import com.diary.api.domain.diary.config.DiaryStorageProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompressedTextConverterTest {
+    private static final int THRESHOLD = 64;
+
+    private final CompressedTextConverter converter = converter(true, THRESHOLD);
+
+    @Test
+    void nullStaysNull() {
+        assertThat(converter.encode(null)).isNull();
+        assertThat(CompressedTextConverter.decode(null)).isNull();
+    }
+
+    @Test
+    void neverCompressesWhenDisabled() {
+        CompressedTextConverter disabled = converter(false, THRESHOLD);
+        String text = "오늘도 산책을 했다. ".repeat(200);
+
+        byte[] encoded = disabled.encode(text);
+
+        assertThat(disabled.isCompressionEnabled()).isFalse();
+        assertThat(encoded).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodesLegacyPlainBytes() {
+        String text = "오늘은 비가 왔다. 우산을 챙겼다.";
+
+        assertThat(CompressedTextConverter.decode(text.getBytes(StandardCharsets.UTF_8))).isEqualTo(text);
+        assertThat(CompressedTextConverter.decode(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void keepsShortTextAsPlainBytes() {
+        String text = "짧은 일기";
+
+        byte[] encoded = converter.encode(text);
+
+        assertThat(CompressedTextConverter.isEncoded(encoded)).isFalse();
+        assertThat(encoded).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+        assertThat(CompressedTextConverter.decode(encoded)).isEqualTo(text);
+    }
+
+    @Test
+    void compressesRepetitiveTextAndRoundTrips() {
+        String text = "오늘도 산책을 했다. ".repeat(200);
+
+        byte[] encoded = converter.encode(text);
+
+        assertThat(CompressedTextConverter.isEncoded(encoded)).isTrue();
+        assertThat(encoded.length).isLessThan(text.getBytes(StandardCharsets.UTF_8).length / 2);
+        assertThat(CompressedTextConverter.decode(encoded)).isEqualTo(text);
+    }
+
+    @Test
+    void keepsIncompressibleTextAsPlainBytes() {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        // 임계값을 조금 넘는 무작위 ASCII 는 Deflate 로 10% 이상 줄지 않음
+        while (text.length() < THRESHOLD + 36) {
+            text.append((char) ('!' + random.nextInt(94)));
+        }
+
+        byte[] encoded = converter.encode(text.toString());
+
+        assertThat(CompressedTextConverter.isEncoded(encoded)).isFalse();
+        assertThat(CompressedTextConverter.decode(encoded)).isEqualTo(text.toString());
+    }
+
+    @Test
+    void wrapsNulLeadingTextWithStoredCodec() {
+        String text = "\u0000NUL 로 시작하는 본문";
+
+        byte[] encoded = converter.encode(text);
+
+        assertThat(CompressedTextConverter.isEncoded(encoded)).isTrue();
+        assertThat(encoded[2]).isEqualTo((byte) 0);
+        assertThat(CompressedTextConverter.decode(encoded)).isEqualTo(text);
+    }
+
+    @Test
+    void rejectsTruncatedHeader() {
+        assertThatThrownBy(() -> CompressedTextConverter.decode(new byte[]{0, 1, 1}))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsUnknownVersionAndCodec() {
+        byte[] encoded = converter.encode("오늘도 산책을 했다. ".repeat(200));
+
+        byte[] version = encoded.clone();
+        version[1] = 9;
+        byte[] codec = encoded.clone();
+        codec[2] = 9;
+
+        assertThatThrownBy(() -> CompressedTextConverter.decode(version)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> CompressedTextConverter.decode(codec)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsTruncatedCompressedPayload() {
+        byte[] encoded = converter.encode("오늘도 산책을 했다. ".repeat(200));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThatThrownBy(() -> CompressedTextConverter.decode(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsCorruptCompressedPayload() {
+        byte[] encoded = converter.encode("오늘도 산책을 했다. ".repeat(200));
+        byte[] corrupt = encoded.clone();
+        for (int i = 7; i < corrupt.length; i++) {
+            corrupt[i] = (byte) 0xFF;
+        }
+
+        assertThatThrownBy(() -> CompressedTextConverter.decode(corrupt))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsStoredPayloadWithWrongLength() {
+        byte[] encoded = converter.encode("\u0000NUL 로 시작하는 본문");
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThatThrownBy(() -> CompressedTextConverter.decode(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CompressedTextConverter converter(boolean enabled, int thresholdBytes) {
+        DiaryStorageProperties properties = new DiaryStorageProperties();
+        properties.setCompressText(enabled);
+        properties.setCompressionThresholdBytes(thresholdBytes);
+        return new CompressedTextConverter(properties);
+    }
+}
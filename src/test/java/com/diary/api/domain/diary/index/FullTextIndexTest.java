@@ -0,0 +1,124 @@
+package com.diary.api.domain.diary.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FullTextIndexTest {
+    private static final long OWNER = 1L;
+    private static final long OTHER = 2L;
+
+    @Test
+    void findsOnlyDocumentsContainingEveryGram() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, true, "오늘은 바다에 갔다");
+        index.upsert(11L, OWNER, true, "오늘은 산에 갔다");
+        index.upsert(12L, OWNER, true, "바다가 보고 싶다");
+
+        assertThat(index.search("바다", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactlyInAnyOrder(10L, 12L);
+        assertThat(index.search("오늘 바다", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(10L);
+        assertThat(index.search("하늘", OWNER, 10)).isEmpty();
+    }
+
+    @Test
+    void hidesOtherUsersPrivateDiaries() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, false, "비밀 일기");
+        index.upsert(11L, OTHER, true, "공개 일기");
+
+        assertThat(index.search("일기", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactlyInAnyOrder(10L, 11L);
+        assertThat(index.search("일기", OTHER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(11L);
+    }
+
+    @Test
+    void updateVisibilityKeepsPostings() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, false, "비밀 일기");
+
+        assertThat(index.updateVisibility(10L, true)).isTrue();
+        assertThat(index.search("비밀", OTHER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(10L);
+
+        assertThat(index.updateVisibility(10L, false)).isTrue();
+        assertThat(index.search("비밀", OTHER, 10)).isEmpty();
+
+        assertThat(index.updateVisibility(99L, true)).isFalse();
+    }
+
+    @Test
+    void removeDropsDocument() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, true, "행복한 하루");
+        index.upsert(11L, OWNER, true, "행복했다");
+
+        index.remove(10L);
+        index.remove(99L);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("행복", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(11L);
+    }
+
+    @Test
+    void upsertReplacesPreviousText() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, true, "우울한 날");
+
+        index.upsert(10L, OWNER, true, "행복한 날");
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("우울", OWNER, 10)).isEmpty();
+        assertThat(index.search("행복", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(10L);
+    }
+
+    @Test
+    void upsertWithoutGramsRemovesDocument() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, true, "행복한 날");
+
+        index.upsert(10L, OWNER, true, "!");
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search("행복", OWNER, 10)).isEmpty();
+    }
+
+    @Test
+    void ranksByTermFrequencyAndLength() {
+        FullTextIndex index = new FullTextIndex();
+        index.upsert(10L, OWNER, true, "산책 산책 산책");
+        index.upsert(11L, OWNER, true, "산책");
+        index.upsert(12L, OWNER, true, "산책 그리고 아주 길고 긴 하루의 이야기를 적어 둔다");
+        index.upsert(13L, OWNER, true, "독서");
+
+        assertThat(index.search("산책", OWNER, 10)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(10L, 11L, 12L);
+        assertThat(index.search("산책", OWNER, 2)).extracting(FullTextIndex.Result::diaryId)
+                .containsExactly(10L, 11L);
+    }
+
+    @Test
+    void searchStaysCorrectAfterCompaction() {
+        FullTextIndex index = new FullTextIndex();
+        for (long id = 1; id <= 3000; id++) {
+            index.upsert(id, OWNER, true, id % 2 == 0 ? "짝수 일기 " + id : "홀수 일기 " + id);
+        }
+        // 툼스톤이 살아 있는 문서보다 많아져 번호를 다시 매기게 함
+        for (long id = 1; id <= 2500; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        assertThat(index.search("짝수", OWNER, 1000)).hasSize(250)
+                .allMatch(result -> result.diaryId() > 2500 && result.diaryId() % 2 == 0);
+        assertThat(index.search("홀수", OWNER, 1000)).hasSize(250)
+                .allMatch(result -> result.diaryId() > 2500 && result.diaryId() % 2 == 1);
+
+        index.upsert(5000L, OWNER, true, "짝수 일기 추가");
+        assertThat(index.search("짝수", OWNER, 1000)).hasSize(251);
+    }
+}
@@ -0,0 +1,177 @@
+package com.diary.api.domain.diary.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswIndexTest {
+    private static final int DIMENSIONS = 10;
+    private static final int K = 10;
+    private static final int EF = 64;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void recallMatchesBruteForceKnn() {
+        HnswIndex index = new HnswIndex(16, 100);
+        Map<Long, float[]> vectors = insertRandom(index, 2000);
+
+        assertThat(index.size()).isEqualTo(2000);
+        assertThat(averageRecall(index, vectors, 50)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void searchReturnsSimilarityDescendingAndExcludesId() {
+        HnswIndex index = new HnswIndex(16, 100);
+        Map<Long, float[]> vectors = insertRandom(index, 300);
+        float[] query = vectors.get(1L);
+
+        List<HnswIndex.Result> results = index.search(query, K, EF, 1L);
+
+        assertThat(results).hasSize(K);
+        assertThat(results).extracting(HnswIndex.Result::id).doesNotContain(1L);
+        assertThat(results).isSortedAccordingTo(
+                Comparator.comparingDouble(HnswIndex.Result::similarity).reversed());
+        assertThat(index.search(query, K, EF, -1L).get(0).id()).isEqualTo(1L);
+    }
+
+    @Test
+    void removedIdsAreNeverReturned() {
+        HnswIndex index = new HnswIndex(16, 100);
+        Map<Long, float[]> vectors = insertRandom(index, 1000);
+
+        Set<Long> removed = new HashSet<>();
+        for (long id = 0; id < 1000; id += 3) {
+            index.remove(id);
+            vectors.remove(id);
+            removed.add(id);
+        }
+
+        assertThat(index.size()).isEqualTo(vectors.size());
+        assertThat(index.contains(0L)).isFalse();
+        for (float[] query : randomVectors(30)) {
+            assertThat(index.search(query, K, EF, -1L)).extracting(HnswIndex.Result::id)
+                    .doesNotContainAnyElementsOf(removed);
+        }
+        assertThat(averageRecall(index, vectors, 50)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void recallSurvivesCompactionAfterMostNodesRemoved() {
+        HnswIndex index = new HnswIndex(16, 100);
+        Map<Long, float[]> vectors = insertRandom(index, 1000);
+
+        // 툼스톤이 살아 있는 노드보다 많아져 그래프를 다시 구성하게 함
+        for (long id = 0; id < 800; id++) {
+            index.remove(id);
+            vectors.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(200);
+        assertThat(averageRecall(index, vectors, 50)).isGreaterThanOrEqualTo(0.9);
+    }
+
+    @Test
+    void removingAllNodesEmptiesIndex() {
+        HnswIndex index = new HnswIndex(8, 50);
+        insertRandom(index, 20);
+
+        for (long id = 0; id < 20; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isZero();
+        assertThat(index.search(randomVector(), K, EF, -1L)).isEmpty();
+
+        index.upsert(100L, randomVector());
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void upsertReplacesVector() {
+        HnswIndex index = new HnswIndex(16, 100);
+        insertRandom(index, 500);
+        float[] moved = randomVector();
+
+        index.upsert(42L, moved);
+
+        assertThat(index.size()).isEqualTo(500);
+        HnswIndex.Result nearest = index.search(moved, 1, EF, -1L).get(0);
+        assertThat(nearest.id()).isEqualTo(42L);
+        assertThat(nearest.similarity()).isCloseTo(1f, within(1e-5f));
+    }
+
+    @Test
+    void upsertWithZeroVectorRemovesEntry() {
+        HnswIndex index = new HnswIndex(16, 100);
+        insertRandom(index, 50);
+
+        index.upsert(7L, new float[DIMENSIONS]);
+
+        assertThat(index.contains(7L)).isFalse();
+        assertThat(index.size()).isEqualTo(49);
+        assertThat(index.search(new float[DIMENSIONS], K, EF, -1L)).isEmpty();
+    }
+
+    private Map<Long, float[]> insertRandom(HnswIndex index, int count) {
+        Map<Long, float[]> vectors = new HashMap<>();
+        for (long id = 0; id < count; id++) {
+            float[] vector = randomVector();
+            vectors.put(id, vector);
+            index.upsert(id, vector);
+        }
+        return vectors;
+    }
+
+    private double averageRecall(HnswIndex index, Map<Long, float[]> vectors, int queries) {
+        double total = 0;
+        for (float[] query : randomVectors(queries)) {
+            Set<Long> expected = bruteForce(vectors, query, K);
+            Set<Long> actual = index.search(query, K, EF, -1L).stream()
+                    .map(HnswIndex.Result::id)
+                    .collect(Collectors.toSet());
+            actual.retainAll(expected);
+            total += (double) actual.size() / expected.size();
+        }
+        return total / queries;
+    }
+
+    private static Set<Long> bruteForce(Map<Long, float[]> vectors, float[] query, int k) {
+        float[] normalized = VectorMath.normalize(query);
+        return vectors.entrySet().stream()
+                .sorted(Comparator.comparingDouble(
+                        (Map.Entry<Long, float[]> entry) -> -VectorMath.dot(normalized,
+                                VectorMath.normalize(entry.getValue()))))
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private List<float[]> randomVectors(int count) {
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vectors.add(randomVector());
+        }
+        return vectors;
+    }
+
+    // 감정 점수처럼 0 이상 값으로 구성
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = random.nextFloat();
+        }
+        return vector;
+    }
+}
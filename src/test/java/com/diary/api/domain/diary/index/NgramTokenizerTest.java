@@ -0,0 +1,40 @@
+package com.diary.api.domain.diary.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramTokenizerTest {
+
+    @Test
+    void splitsWordIntoOverlappingBigrams() {
+        assertThat(NgramTokenizer.tokenize("행복했다")).containsExactly("행복", "복했", "했다");
+    }
+
+    @Test
+    void splitsRunsOnPunctuationAndWhitespace() {
+        assertThat(NgramTokenizer.tokenize("오늘은, 맑음!")).containsExactly("오늘", "늘은", "맑음");
+    }
+
+    @Test
+    void skipsSingleCharacterRuns() {
+        assertThat(NgramTokenizer.tokenize("나 는 밥")).isEmpty();
+    }
+
+    @Test
+    void keepsDuplicatesForFrequency() {
+        assertThat(NgramTokenizer.tokenize("하하 하하")).containsExactly("하하", "하하");
+    }
+
+    @Test
+    void normalizesWidthAndCase() {
+        // 전각 영문/숫자는 NFKC 로 반각이 됨
+        assertThat(NgramTokenizer.tokenize("ＡＢ12 Cd")).containsExactly("ab", "b1", "12", "cd");
+    }
+
+    @Test
+    void returnsEmptyForNullOrEmpty() {
+        assertThat(NgramTokenizer.tokenize(null)).isEmpty();
+        assertThat(NgramTokenizer.tokenize("")).isEmpty();
+    }
+}
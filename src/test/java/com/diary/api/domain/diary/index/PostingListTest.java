@@ -0,0 +1,84 @@
+package com.diary.api.domain.diary.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostingListTest {
+
+    @Test
+    void roundTripsDeltasAndFrequenciesAcrossVarintWidths() {
+        int[] docs = {1, 2, 129, 16_513, 2_113_665, Integer.MAX_VALUE};
+        int[] freqs = {1, 127, 128, 16_384, 300_000, Integer.MAX_VALUE};
+        PostingList list = new PostingList();
+        for (int i = 0; i < docs.length; i++) {
+            list.add(docs[i], freqs[i]);
+        }
+
+        List<int[]> read = readAll(list);
+
+        assertThat(list.docCount()).isEqualTo(docs.length);
+        assertThat(read).hasSize(docs.length);
+        for (int i = 0; i < docs.length; i++) {
+            assertThat(read.get(i)).containsExactly(docs[i], freqs[i]);
+        }
+    }
+
+    @Test
+    void smallDeltasTakeOneBytePerValue() {
+        PostingList list = new PostingList();
+        for (int doc = 1; doc <= 100; doc++) {
+            list.add(doc, 3);
+        }
+
+        assertThat(list.bytes()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectsNonIncreasingDocs() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+
+        assertThatThrownBy(() -> list.add(5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> list.add(3, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PostingList().add(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyListHasNoEntries() {
+        PostingList list = new PostingList();
+
+        assertThat(list.reader().next()).isFalse();
+        assertThat(list.docCount()).isZero();
+    }
+
+    @Test
+    void trimKeepsContents() {
+        PostingList list = new PostingList();
+        for (int doc = 1; doc <= 1000; doc += 7) {
+            list.add(doc, doc % 5 + 1);
+        }
+        List<int[]> before = readAll(list);
+
+        list.trim();
+
+        List<int[]> after = readAll(list);
+        assertThat(after).hasSameSizeAs(before);
+        for (int i = 0; i < before.size(); i++) {
+            assertThat(after.get(i)).containsExactly(before.get(i));
+        }
+    }
+
+    private static List<int[]> readAll(PostingList list) {
+        List<int[]> entries = new ArrayList<>();
+        PostingList.Reader reader = list.reader();
+        while (reader.next()) {
+            entries.add(new int[]{reader.doc(), reader.freq()});
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,39 @@
+package com.diary.api.domain.diary.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorMathTest {
+
+    @Test
+    void dotHandlesEvenAndOddLengths() {
+        assertThat(VectorMath.dot(new float[]{1, 2, 3, 4}, new float[]{5, 6, 7, 8})).isEqualTo(70f);
+        assertThat(VectorMath.dot(new float[]{1, 2, 3}, new float[]{4, 5, 6})).isEqualTo(32f);
+        assertThat(VectorMath.dot(new float[]{2}, new float[]{3})).isEqualTo(6f);
+        assertThat(VectorMath.dot(new float[0], new float[0])).isZero();
+    }
+
+    @Test
+    void dotUsesShorterLength() {
+        assertThat(VectorMath.dot(new float[]{1, 2, 3}, new float[]{1, 1})).isEqualTo(3f);
+    }
+
+    @Test
+    void normalizeReturnsUnitCopy() {
+        float[] vector = {3, 0, 4};
+
+        float[] normalized = VectorMath.normalize(vector);
+
+        assertThat(normalized).containsExactly(new float[]{0.6f, 0f, 0.8f}, within(1e-6f));
+        assertThat(VectorMath.dot(normalized, normalized)).isCloseTo(1f, within(1e-6f));
+        assertThat(vector).containsExactly(3f, 0f, 4f);
+    }
+
+    @Test
+    void normalizeReturnsNullForZeroOrNanVector() {
+        assertThat(VectorMath.normalize(new float[]{0, 0, 0})).isNull();
+        assertThat(VectorMath.normalize(new float[]{Float.NaN, 1})).isNull();
+    }
+}
@@ -0,0 +1,45 @@
+package com.diary.api.domain.diary.service;
+
+import com.diary.api.domain.diary.entity.DiaryTag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiaryTagServiceTest {
+
+    @Test
+    void normalizeDropsBlankTagsAndTrims() {
+        assertThat(DiaryTagService.normalize(Arrays.asList(" 여행 ", "", "   ", null, "일상")))
+                .containsExactly("여행", "일상");
+    }
+
+    @Test
+    void normalizeDedupesCaseAndAccentInsensitivelyKeepingFirstSpelling() {
+        Set<String> tags = DiaryTagService.normalize(List.of("Happy", "happy", "HAPPY", "caf\u00e9", "cafe"));
+
+        assertThat(tags).containsExactly("Happy", "caf\u00e9");
+    }
+
+    @Test
+    void normalizeComposesToNfc() {
+        // e + 결합 악센트
+        Set<String> tags = DiaryTagService.normalize(List.of("cafe\u0301"));
+
+        assertThat(tags).containsExactly("caf\u00e9");
+    }
+
+    @Test
+    void normalizeTruncatesByCodePointWithoutSplittingSurrogatePairs() {
+        String emoji = "😀";
+        String tag = emoji.repeat(DiaryTag.MAX_TAG_LENGTH + 5);
+
+        String normalized = DiaryTagService.normalize(List.of(tag)).iterator().next();
+
+        assertThat(normalized.codePointCount(0, normalized.length())).isEqualTo(DiaryTag.MAX_TAG_LENGTH);
+        assertThat(normalized).isEqualTo(emoji.repeat(DiaryTag.MAX_TAG_LENGTH));
+    }
+}
@@ -0,0 +1,138 @@
+package com.diary.api.domain.llm.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    private static final long LONG_OPEN_MS = 60_000L;
+
+    @Test
+    void staysClosedUntilMinimumCallsRecorded() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 5, 0.5, LONG_OPEN_MS);
+
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, LONG_OPEN_MS);
+
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, false);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // 실패율은 실패를 기록할 때만 판단
+        call(breaker, false);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        call(breaker, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void slidingWindowForgetsOldestResults() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, LONG_OPEN_MS);
+
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, false);
+        call(breaker, false);
+        // 창이 가득 찬 뒤 가장 오래된 실패 두 개가 밀려남
+        call(breaker, false);
+        call(breaker, false);
+
+        // 창: 성공 3 + 실패 1 = 0.25
+        call(breaker, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // 창: 성공 2 + 실패 2 = 0.5
+        call(breaker, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // 창: 성공 1 + 실패 3 = 0.75
+        call(breaker, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenAllowsSingleTrialAndClosesOnSuccess() {
+        CircuitBreaker breaker = tripped(0L);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void halfOpenReopensOnTrialFailure() {
+        CircuitBreaker breaker = tripped(0L);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenIgnoredTrialFreesSlotForNextTrial() {
+        CircuitBreaker breaker = tripped(0L);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onIgnored();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void staysOpenUntilOpenDurationElapses() {
+        CircuitBreaker breaker = tripped(LONG_OPEN_MS);
+
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void resetClearsWindowAfterRecovery() {
+        CircuitBreaker breaker = tripped(0L);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+
+        // 이전 실패가 남아 있었다면 첫 실패로 바로 열림
+        call(breaker, true);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private static CircuitBreaker tripped(long openDurationMs) {
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, openDurationMs);
+        call(breaker, true);
+        call(breaker, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private static void call(CircuitBreaker breaker, boolean failure) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (failure) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+}